@@ -2,11 +2,13 @@ package com.reliaquest.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the API service.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ApiApplication {
 
     /**
@@ -0,0 +1,160 @@
+package com.reliaquest.api.capture;
+
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.web.TenantContext;
+import com.reliaquest.capture.TrafficCaptureLog;
+import com.reliaquest.capture.TrafficCaptureLog.CapturedRequest;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opt-in interceptor recording the requests served by {@link EmployeeController} to a
+ * {@link TrafficCaptureLog}, so production load shapes can be replayed offline.
+ *
+ * <p>Request threads only read the clock and offer a small record to a bounded queue; a daemon
+ * thread encodes the records and writes them to the log, flushing whenever the queue runs empty.
+ * When the queue is full, or once {@code max-records} have been captured, further records are
+ * dropped rather than slowing requests down. Only metadata is captured, never request bodies.
+ * Registered ahead of the ingress interceptors, so shed and over-quota requests are captured too.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.api.capture.enabled", havingValue = "true")
+public class TrafficCaptureInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = TrafficCaptureInterceptor.class.getName() + ".start";
+
+    private final BlockingQueue<CapturedRequest> queue;
+    private final TrafficCaptureLog.Writer writer;
+    private final long maxRecords;
+    private final long startNanos = System.nanoTime();
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    /**
+     * Constructs a TrafficCaptureInterceptor and starts writing the capture log.
+     *
+     * @param file          the capture log, replaced if it exists
+     * @param queueCapacity how many records may wait for the writer before records are dropped
+     * @param maxRecords    how many records are captured before capture stops
+     * @throws IOException if the capture log cannot be created
+     */
+    public TrafficCaptureInterceptor(
+            @Value("${employee.api.capture.file:capture/traffic.rqtc}") Path file,
+            @Value("${employee.api.capture.queue-capacity:65536}") int queueCapacity,
+            @Value("${employee.api.capture.max-records:10000000}") long maxRecords)
+            throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxRecords = maxRecords;
+        this.writer = new TrafficCaptureLog.Writer(new FileOutputStream(file.toFile()), System.currentTimeMillis());
+        this.writerThread = new Thread(this::writeRecords, "traffic-capture-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Capturing employee requests to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method && method.getBeanType() == EmployeeController.class) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        long end = System.nanoTime();
+        if (!running || captured.incrementAndGet() > maxRecords) {
+            dropped.incrementAndGet();
+            return;
+        }
+        String query = request.getQueryString();
+        String tenant = request.getHeader(TenantContext.TENANT_HEADER);
+        CapturedRequest record = new CapturedRequest(
+                TimeUnit.NANOSECONDS.toMicros(start - startNanos),
+                request.getMethod(),
+                String.valueOf(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)),
+                query == null ? request.getRequestURI() : request.getRequestURI() + "?" + query,
+                tenant == null ? "" : tenant,
+                response.getStatus(),
+                TimeUnit.NANOSECONDS.toMicros(end - start));
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns how many records were dropped because the queue was full or capture had stopped.
+     *
+     * @return the number of dropped records
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the queued records and closes the capture log.
+     */
+    @PreDestroy
+    public void close() {
+        // The writer polls once a second, so it sees the flag without an interrupt
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped capturing employee requests, {} dropped", dropped.get());
+    }
+
+    private void writeRecords() {
+        try (writer) {
+            while (running) {
+                CapturedRequest record;
+                try {
+                    record = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                if (record != null) {
+                    writer.write(record);
+                }
+                if (queue.isEmpty()) {
+                    writer.flush();
+                }
+            }
+            for (CapturedRequest record = queue.poll(); record != null; record = queue.poll()) {
+                writer.write(record);
+            }
+        } catch (IOException ex) {
+            running = false;
+            log.error("Traffic capture stopped, the capture log could not be written", ex);
+        }
+    }
+}
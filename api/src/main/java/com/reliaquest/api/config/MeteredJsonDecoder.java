@@ -0,0 +1,83 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.jfr.PhaseEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+/**
+ * JSON decoder for upstream responses that records how long each body takes to decode and how
+ * large it is.
+ *
+ * <p>Responses read with {@code bodyToMono} are joined into one buffer before they are decoded, so
+ * the timer {@code employee.upstream.decode} covers Jackson only, not the network. Both meters are
+ * tagged with the decoded type, e.g. {@code ApiResponse<List<Employee>>}, and each decode is
+ * recorded as a {@link PhaseEvent#DECODE} phase. The tag and meters are worked out once per target
+ * type, so a decode costs one map lookup on top of Jackson.
+ */
+public class MeteredJsonDecoder extends Jackson2JsonDecoder {
+
+    private static final Pattern PACKAGE_PREFIX = Pattern.compile("\\b[a-z][a-z0-9_]*\\.");
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<ResolvableType, TypeMeters> metersByType = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a MeteredJsonDecoder.
+     *
+     * @param objectMapper  the mapper decoding the bodies
+     * @param meterRegistry the registry the decode meters are registered with
+     */
+    public MeteredJsonDecoder(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object decode(
+            DataBuffer dataBuffer,
+            ResolvableType targetType,
+            @Nullable MimeType mimeType,
+            @Nullable Map<String, Object> hints)
+            throws DecodingException {
+        TypeMeters meters = metersByType.computeIfAbsent(targetType, this::metersOf);
+        meters.size().record(dataBuffer.readableByteCount());
+        PhaseEvent event = PhaseEvent.start(PhaseEvent.DECODE, meters.type());
+        long start = System.nanoTime();
+        try {
+            return super.decode(dataBuffer, targetType, mimeType, hints);
+        } finally {
+            event.commit();
+            meters.decode().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private TypeMeters metersOf(ResolvableType targetType) {
+        String type = PACKAGE_PREFIX.matcher(targetType.toString()).replaceAll("");
+        return new TypeMeters(
+                type,
+                DistributionSummary.builder("employee.upstream.response.size")
+                        .description("Size of upstream response bodies")
+                        .baseUnit("bytes")
+                        .tag("type", type)
+                        .register(meterRegistry),
+                Timer.builder("employee.upstream.decode")
+                        .description("Time to decode upstream response bodies")
+                        .tag("type", type)
+                        .register(meterRegistry));
+    }
+
+    private record TypeMeters(String type, DistributionSummary size, Timer decode) {}
+}
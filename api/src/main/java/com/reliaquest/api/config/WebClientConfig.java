@@ -1,11 +1,19 @@
 // WebClientConfig.java
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.web.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * Configuration class for setting up WebClient and Resilience4j Retry.
@@ -14,17 +22,98 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class WebClientConfig {
 
+    /** Protocol value for HTTP/1.1, one connection per in-flight call. */
+    public static final String HTTP11 = "http11";
+
+    /** Protocol value for cleartext HTTP/2 with prior knowledge, many calls per connection. */
+    public static final String H2C = "h2c";
+
     @Value("${employee.api.base-url}")
     private String employeeApiBaseUrl;
 
+    @Value("${employee.api.http.protocol:h2c}")
+    private String protocol;
+
+    @Value("${employee.api.http.max-connections:4}")
+    private int maxConnections;
+
+    @Value("${employee.api.http.max-concurrent-streams:1000}")
+    private int maxConcurrentStreams;
+
+    @Value("${employee.api.http.max-pending-acquires:256}")
+    private int maxPendingAcquires;
+
     /**
      * Configures a WebClient bean for interacting with the employee API.
      *
+     * <p>The builder is the one instrumented by Spring Boot, so every call is also recorded under
+     * {@code http.client.requests}; response bodies are decoded by a {@link MeteredJsonDecoder}.
+     *
      * @param webClientBuilder the WebClient.Builder to use for building the WebClient
+     * @param objectMapper     the application's ObjectMapper
+     * @param meterRegistry    the registry for the decode meters
      * @return the configured WebClient
      */
     @Bean
-    public WebClient employeeApiClient(WebClient.Builder webClientBuilder) {
-        return webClientBuilder.baseUrl(employeeApiBaseUrl).build();
+    public WebClient employeeApiClient(
+            WebClient.Builder webClientBuilder, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        log.info("Calling employee API at {} over {}", employeeApiBaseUrl, protocol);
+        return webClientBuilder
+                .baseUrl(employeeApiBaseUrl)
+                .defaultRequest(WebClientConfig::forwardTenant)
+                .codecs(codecs ->
+                        codecs.defaultCodecs().jackson2JsonDecoder(new MeteredJsonDecoder(objectMapper, meterRegistry)))
+                .clientConnector(new ReactorClientHttpConnector(
+                        httpClient(protocol, maxConnections, maxConcurrentStreams, maxPendingAcquires)))
+                .build();
+    }
+
+    /**
+     * Forwards the tenant of the current request, so the external API works on that tenant's roster.
+     * Calls for the default tenant are sent without the header, as before tenants existed.
+     *
+     * @param request the upstream request being built, on the thread of the ingress request
+     */
+    private static void forwardTenant(WebClient.RequestHeadersSpec<?> request) {
+        if (!TenantContext.isDefault()) {
+            request.header(TenantContext.TENANT_HEADER, TenantContext.current());
+        }
+    }
+
+    /**
+     * Creates the Reactor Netty client used for calls to the employee API.
+     *
+     * <p>Over {@value #H2C} the client opens at most {@code maxConnections} connections and
+     * multiplexes up to {@code maxConcurrentStreams} calls over each, as far as the server's own
+     * stream limit allows; further calls wait for a free stream, at most {@code maxPendingAcquires} of
+     * them, and calls beyond that fail at once. The HTTP/2 preface is sent right away, so the server
+     * must accept h2c with prior knowledge. Over {@value #HTTP11} the default connection pool is used.
+     *
+     * <p>The streams only bound what the client can multiplex. The calls actually in flight are
+     * capped by {@code employee.api.upstream.max-concurrent}, which has to be raised for more of the
+     * streams to be used.
+     *
+     * @param protocol             {@value #H2C} or {@value #HTTP11}
+     * @param maxConnections       the number of HTTP/2 connections to the server
+     * @param maxConcurrentStreams the number of concurrent calls per HTTP/2 connection
+     * @param maxPendingAcquires   the number of calls waiting for a free HTTP/2 stream
+     * @return the configured client
+     * @throws IllegalArgumentException if the protocol is unknown
+     */
+    public static HttpClient httpClient(
+            String protocol, int maxConnections, int maxConcurrentStreams, int maxPendingAcquires) {
+        return switch (protocol) {
+            case HTTP11 -> HttpClient.create().protocol(HttpProtocol.HTTP11);
+            case H2C -> HttpClient.create(ConnectionProvider.builder("employee-api-h2c")
+                            .allocationStrategy(Http2AllocationStrategy.builder()
+                                    .minConnections(1)
+                                    .maxConnections(maxConnections)
+                                    .maxConcurrentStreams(maxConcurrentStreams)
+                                    .build())
+                            .pendingAcquireMaxCount(maxPendingAcquires)
+                            .build())
+                    .protocol(HttpProtocol.H2C);
+            default -> throw new IllegalArgumentException("Unknown employee.api.http.protocol " + protocol);
+        };
     }
 }
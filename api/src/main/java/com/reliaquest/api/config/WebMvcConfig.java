@@ -0,0 +1,57 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.capture.TrafficCaptureInterceptor;
+import com.reliaquest.api.web.AdaptiveConcurrencyLimiter;
+import com.reliaquest.api.web.ClientQuotaInterceptor;
+import com.reliaquest.api.web.ConcurrencyLimitInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for registering the ingress interceptors of the employee endpoints.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ClientQuotaInterceptor clientQuotaInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final ObjectProvider<TrafficCaptureInterceptor> trafficCaptureInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Capture, when enabled, sees every request including those the interceptors below reject
+        trafficCaptureInterceptor.ifAvailable(registry::addInterceptor);
+        // Quota first, so an over-quota client never occupies a concurrency slot; metric scrapes pass freely
+        registry.addInterceptor(clientQuotaInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/error", "/actuator/**");
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/error", "/actuator/**");
+    }
+
+    /**
+     * Exposes the employee requests in flight and the adaptive concurrency limit as gauges.
+     *
+     * @param limiter the ingress concurrency limiter
+     * @return the binder registering the gauges
+     */
+    @Bean
+    public MeterBinder ingressConcurrencyMetrics(AdaptiveConcurrencyLimiter limiter) {
+        return registry -> {
+            Gauge.builder("employee.ingress.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Employee requests currently in flight")
+                    .register(registry);
+            Gauge.builder("employee.ingress.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .register(registry);
+        };
+    }
+}
@@ -1,19 +1,28 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.jfr.PhaseEvent;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.service.EmployeeRosterSnapshot;
 import com.reliaquest.api.util.CommonUtil;
+import java.time.Duration;
 import java.util.*;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
 
 /**
  * Advice to wrap API responses in a standard ApiResponse structure.
  * This ensures consistent response formats across the application.
+ *
+ * <p>Responses served from the roster snapshot while the upstream circuit is open are
+ * marked with {@code Warning: 110} and an {@code Age} header. Wrapping is recorded as a
+ * {@link PhaseEvent#RESPONSE_WRAP} phase.
  */
 @SuppressWarnings({"unchecked", "rawtypes"})
 @ControllerAdvice
@@ -34,6 +43,16 @@ public class EmployeeApiResponseWrapperAdvice implements ResponseBodyAdvice<Obje
             Class<? extends HttpMessageConverter<?>> selectedConverterType,
             ServerHttpRequest request,
             ServerHttpResponse response) {
+        PhaseEvent event = PhaseEvent.start(PhaseEvent.RESPONSE_WRAP, returnType.getExecutable().getName());
+        try {
+            return wrap(body, request, response);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private Object wrap(Object body, ServerHttpRequest request, ServerHttpResponse response) {
+        markStale(request, response);
 
         // Null body -> wrap as empty list
         if (body == null) {
@@ -53,4 +72,13 @@ public class EmployeeApiResponseWrapperAdvice implements ResponseBodyAdvice<Obje
         // Wrap normal responses
         return new ApiResponse<>(body);
     }
+
+    private void markStale(ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(EmployeeRosterSnapshot.STALE_AGE_ATTRIBUTE)
+                        instanceof Duration age) {
+            response.getHeaders().set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(age.toSeconds()));
+        }
+    }
 }
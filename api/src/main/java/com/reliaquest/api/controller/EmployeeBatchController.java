@@ -0,0 +1,82 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.service.EmployeeBatchService;
+import com.reliaquest.api.service.IdempotencyStore;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for batch Employee operations.
+ *
+ * <p>Every endpoint answers with a result per item, in request order, carrying the status the item
+ * would have had as a single request. Only a batch that is empty or too large is rejected as a whole.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/batch")
+@RequiredArgsConstructor
+public class EmployeeBatchController {
+
+    private final EmployeeBatchService service;
+    private final IdempotencyStore idempotencyStore;
+
+    /**
+     * Retrieves employees by their IDs.
+     *
+     * @param ids the IDs of the employees to retrieve
+     * @return a ResponseEntity containing a result per ID
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    @PostMapping("/get")
+    public ResponseEntity<List<BatchItemResult<Employee>>> getEmployees(@RequestBody List<String> ids) {
+        log.info("Request received to get batch of {} employees", ids == null ? 0 : ids.size());
+        return ResponseEntity.ok(service.getEmployees(ids));
+    }
+
+    /**
+     * Creates employees.
+     *
+     * <p>With an {@code Idempotency-Key} header, replaying the same batch returns the results of
+     * the earlier attempt once it succeeded, and creates only the employees it did not otherwise.
+     *
+     * @param employeeInputs  the details of the employees to create
+     * @param idempotencyKey  the optional key identifying this batch across client retries
+     * @return a ResponseEntity containing a result per employee
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    @PostMapping
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<EmployeeDto> employeeInputs,
+            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.info(
+                "Request received to create batch of {} employees", employeeInputs == null ? 0 : employeeInputs.size());
+        String batchKey =
+                idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyStore.scopedKey(idempotencyKey);
+        return ResponseEntity.ok(service.createEmployees(employeeInputs, batchKey));
+    }
+
+    /**
+     * Deletes employees by their IDs.
+     *
+     * @param ids the IDs of the employees to delete
+     * @return a ResponseEntity containing a result per ID, carrying the deleted employee's name
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    @DeleteMapping
+    public ResponseEntity<List<BatchItemResult<String>>> deleteEmployees(@RequestBody List<String> ids) {
+        log.info("Request received to delete batch of {} employees", ids == null ? 0 : ids.size());
+        return ResponseEntity.ok(service.deleteEmployees(ids));
+    }
+}
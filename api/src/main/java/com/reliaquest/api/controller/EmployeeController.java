@@ -4,8 +4,11 @@ import com.reliaquest.api.exceptions.InvalidInputException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.IdempotencyStore;
 import com.reliaquest.api.util.InputValidator;
+import jakarta.servlet.http.HttpServletRequest;
 import java.util.List;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +28,9 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
 
     private final EmployeeService service;
     private final InputValidator validator;
+    private final IdempotencyStore idempotencyStore;
+    private final HttpServletRequest httpRequest;
+
     /**
      * Retrieves all employees.
      *
@@ -99,15 +105,26 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
     /**
      * Creates a new employee.
      *
+     * <p>Requests carrying an {@code Idempotency-Key} header are executed at most once per key;
+     * replays return the originally created employee.
+     *
      * @param employeeInput the EmployeeDto object containing the details of the employee to create
      * @return a ResponseEntity containing the created employee
-     * @throws InvalidInputException if the input data is invalid
+     * @throws InvalidInputException if the input data is invalid or the key was used for another request
      */
     @Override
     public ResponseEntity<Employee> createEmployee(@RequestBody EmployeeDto employeeInput) {
         log.info("Request received to create a new employee");
         validator.validate(employeeInput);
-        Employee employee = service.createEmployee(employeeInput);
+        String idempotencyKey = httpRequest.getHeader(IdempotencyStore.IDEMPOTENCY_KEY_HEADER);
+        Employee employee;
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            employee = service.createEmployee(employeeInput, UUID.randomUUID().toString());
+        } else {
+            String scopedKey = idempotencyStore.scopedKey(idempotencyKey);
+            employee = idempotencyStore.execute(
+                    scopedKey, employeeInput, () -> service.createEmployee(employeeInput, scopedKey));
+        }
         log.info("Request processed - returning created employee with id: {}", employee.getId());
         return ResponseEntity.ok(employee);
     }
@@ -1,10 +1,14 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.exceptions.ClientQueueFullException;
 import com.reliaquest.api.exceptions.EmployeeNotFoundException;
 import com.reliaquest.api.exceptions.ExternalServiceException;
 import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.exceptions.RequestInProgressException;
+import com.reliaquest.api.exceptions.ServiceOverloadedException;
 import com.reliaquest.api.exceptions.TooManyRequestsException;
 import com.reliaquest.api.model.ApiResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +44,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(new ApiResponse<>("Invalid input: " + ex.getMessage()));
     }
 
+    /** Handles replays of an Idempotency-Key whose original request is still in flight.
+     *
+     * @param ex the exception that was thrown
+     * @return a ResponseEntity with a 409 status and error message
+     */
+    @ExceptionHandler(RequestInProgressException.class)
+    public ResponseEntity<ApiResponse<Object>> handleRequestInProgress(RequestInProgressException ex) {
+        log.warn("Request rejected while its idempotency key is in progress: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(ex.getMessage()));
+    }
+
     /** Handles exceptions related to rate limiting.
      *
      * @param ex the exception that was thrown
@@ -51,6 +66,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(ex.getMessage()));
     }
 
+    /** Handles upstream calls refused because the client has too many calls queued locally.
+     *
+     * @param ex the exception that was thrown
+     * @return a ResponseEntity with a 429 status and error message
+     */
+    @ExceptionHandler(ClientQueueFullException.class)
+    public ResponseEntity<ApiResponse<Object>> handleClientQueueFull(ClientQueueFullException ex) {
+        log.warn("Request rejected with full client queue: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ApiResponse<>(ex.getMessage()));
+    }
+
     /** Handles exceptions related to failures in external service calls.
      *
      * @param ex the exception that was thrown
@@ -62,6 +88,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body(new ApiResponse<>(ex.getMessage()));
     }
 
+    /** Handles calls rejected because the upstream circuit breaker is open.
+     *
+     * @param ex the exception that was thrown
+     * @return a ResponseEntity with a 503 status and error message
+     */
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleCircuitOpen(CallNotPermittedException ex) {
+        log.error("Request rejected with open circuit: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ApiResponse<>("Upstream employee service api unavailable, try again later"));
+    }
+
+    /** Handles requests shed by the ingress concurrency limiter.
+     *
+     * @param ex the exception that was thrown
+     * @return a ResponseEntity with a 503 status and error message
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleOverloaded(ServiceOverloadedException ex) {
+        log.warn("Request shed with overload error: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ApiResponse<>(ex.getMessage()));
+    }
+
     /**
      * Generic exception handler for any unhandled exceptions.
      *
@@ -0,0 +1,16 @@
+package com.reliaquest.api.exceptions;
+/**
+ * Custom exception for upstream calls refused because the client already has too many calls queued
+ * locally. It signals local backpressure, not an upstream failure, so it is never retried and never
+ * counted by the upstream circuit breaker.
+ */
+public class ClientQueueFullException extends RuntimeException {
+    /**
+     * Constructs a new ClientQueueFullException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ClientQueueFullException(String message) {
+        super(message);
+    }
+}
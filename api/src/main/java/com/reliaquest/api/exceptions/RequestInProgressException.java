@@ -0,0 +1,15 @@
+package com.reliaquest.api.exceptions;
+/**
+ * Custom exception for a request replaying an Idempotency-Key whose original request did not
+ * complete within the replay wait. The client may retry with the same key once it has.
+ */
+public class RequestInProgressException extends RuntimeException {
+    /**
+     * Constructs a new RequestInProgressException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public RequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.exceptions;
+/**
+ * Custom exception for requests shed because the api is over its capacity.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+    /**
+     * Constructs a new ServiceOverloadedException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
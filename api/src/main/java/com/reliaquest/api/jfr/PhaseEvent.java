@@ -0,0 +1,65 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event covering one phase of serving an employee request.
+ *
+ * <p>Events are recorded without stack traces, and creating one is close to free while no recording
+ * enables it. Use {@link #start(String, String)} at the start of a phase and {@link #commit()} in a
+ * {@code finally} block at its end.
+ */
+@Name(PhaseEvent.NAME)
+@Label("Employee API Phase")
+@Category({"Employee API", "Request Phases"})
+@Description("Time spent in one phase of serving an employee request")
+@StackTrace(false)
+public class PhaseEvent extends Event {
+
+    /** Event type name, for recordings and streams enabling the event. */
+    public static final String NAME = "com.reliaquest.api.Phase";
+
+    /** Bean validation of ids and request bodies. */
+    public static final String VALIDATE = "validate";
+
+    /** Waiting in the upstream call scheduler for a slot and a budget token. */
+    public static final String UPSTREAM_QUEUE = "upstream-queue";
+
+    /** A blocking WebClient call to the external API, response decoding included. */
+    public static final String UPSTREAM_CALL = "upstream-call";
+
+    /** Decoding an upstream JSON response body. */
+    public static final String DECODE = "decode";
+
+    /** Wrapping a controller result in an {@code ApiResponse}. */
+    public static final String RESPONSE_WRAP = "response-wrap";
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Operation")
+    @Description("Service operation, validated value or decoded type")
+    private String operation;
+
+    /**
+     * Creates the event of a phase and starts timing it.
+     *
+     * @param phase     one of the phase constants of this class
+     * @param operation what the phase works on
+     * @return the started event
+     */
+    public static PhaseEvent start(String phase, String operation) {
+        PhaseEvent event = new PhaseEvent();
+        if (event.isEnabled()) {
+            event.phase = phase;
+            event.operation = operation;
+            event.begin();
+        }
+        return event;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process consumer of the request phase events, keeping rolling latency summaries per phase.
+ *
+ * <p>A JFR {@link RecordingStream} enables only {@link PhaseEvent} and {@link RetryBackoffEvent},
+ * without stack traces, and feeds their durations into the {@code employee.phase} timer tagged with
+ * the phase. The timer's percentiles decay like every other Micrometer distribution, so the
+ * summaries show where recent requests spent their time without attaching a profiler. Events are
+ * delivered in batches about once per flush interval, off the request threads.
+ *
+ * <p>Streaming is opt-in with {@code employee.api.jfr.enabled}: every request commits about five
+ * phase events, which {@code PhaseEventBenchmark} in the benchmarks module prices with and without
+ * a stream. Phases shorter than {@code employee.api.jfr.threshold} are not recorded, trading the
+ * fast tail of each timer for a cheaper request path.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.api.jfr.enabled", havingValue = "true")
+public class PhaseLatencyRecorder {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final RecordingStream stream;
+
+    /**
+     * Constructs a PhaseLatencyRecorder and starts streaming the phase events.
+     *
+     * @param meterRegistry the registry the phase timers are registered with
+     * @param maxAge        how long streamed events are kept in the recording's disk buffer
+     * @param threshold     the shortest phase that is recorded
+     */
+    public PhaseLatencyRecorder(
+            MeterRegistry meterRegistry,
+            @Value("${employee.api.jfr.max-age:PT1M}") Duration maxAge,
+            @Value("${employee.api.jfr.threshold:PT0S}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.stream = new RecordingStream();
+        stream.setMaxAge(maxAge);
+        stream.enable(PhaseEvent.NAME).withoutStackTrace().withThreshold(threshold);
+        stream.enable(RetryBackoffEvent.NAME).withoutStackTrace();
+        stream.onEvent(PhaseEvent.NAME, this::onPhase);
+        stream.onEvent(RetryBackoffEvent.NAME, this::onRetryBackoff);
+        stream.startAsync();
+        log.info("Streaming request phase events into employee.phase timers");
+    }
+
+    /**
+     * Stops the stream and discards its buffered events.
+     */
+    @PreDestroy
+    public void close() {
+        stream.close();
+    }
+
+    private void onPhase(RecordedEvent event) {
+        String phase = event.getString("phase");
+        if (phase != null) {
+            timer(phase).record(event.getDuration());
+        }
+    }
+
+    private void onRetryBackoff(RecordedEvent event) {
+        timer(RetryBackoffEvent.PHASE).record(event.getDuration("backoff"));
+    }
+
+    private Timer timer(String phase) {
+        return timers.computeIfAbsent(phase, key -> Timer.builder("employee.phase")
+                .description("Time spent per phase of serving employee requests, from JFR events")
+                .tag("phase", key)
+                .register(meterRegistry));
+    }
+}
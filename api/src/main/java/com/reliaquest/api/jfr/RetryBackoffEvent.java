@@ -0,0 +1,61 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event marking a retry of a failed upstream call.
+ *
+ * <p>Resilience4j sleeps internally between attempts, so the sleep cannot be wrapped in a
+ * {@link PhaseEvent}. This instant event is emitted right before the sleep and carries its length.
+ */
+@Name(RetryBackoffEvent.NAME)
+@Label("Employee API Retry Backoff")
+@Category({"Employee API", "Request Phases"})
+@Description("Backoff before retrying a failed upstream call")
+@StackTrace(false)
+public class RetryBackoffEvent extends Event {
+
+    /** Event type name, for recordings and streams enabling the event. */
+    public static final String NAME = "com.reliaquest.api.RetryBackoff";
+
+    /** Phase name under which backoffs are summarized next to the {@link PhaseEvent} phases. */
+    public static final String PHASE = "retry-backoff";
+
+    @Label("Retry Instance")
+    private String retry;
+
+    @Label("Attempt")
+    private int attempt;
+
+    @Label("Exception")
+    private String exception;
+
+    @Label("Backoff")
+    @Timespan(Timespan.MILLISECONDS)
+    private long backoff;
+
+    /**
+     * Emits the event of one retry.
+     *
+     * @param retry         the name of the retry instance
+     * @param attempt       the number of the retry, starting at 1
+     * @param exception     the exception that failed the previous attempt
+     * @param backoffMillis how long the retry sleeps before the next attempt
+     */
+    public static void emit(String retry, int attempt, Throwable exception, long backoffMillis) {
+        RetryBackoffEvent event = new RetryBackoffEvent();
+        if (event.shouldCommit()) {
+            event.retry = retry;
+            event.attempt = attempt;
+            event.exception = exception == null ? null : exception.getClass().getSimpleName();
+            event.backoff = backoffMillis;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch request.
+ *
+ * @param <T> the type of the item's result
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult<T> {
+    /** Position of the item in the request. */
+    private int index;
+    /** HTTP status the item would have had as a single request. */
+    private int status;
+
+    private T data;
+    private String error;
+}
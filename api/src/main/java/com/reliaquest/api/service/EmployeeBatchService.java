@@ -0,0 +1,230 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exceptions.ClientQueueFullException;
+import com.reliaquest.api.exceptions.ExternalServiceException;
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.exceptions.TooManyRequestsException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.util.InputValidator;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+/**
+ * Service executing client batches against the batch endpoints of the external API.
+ *
+ * <p>Items are validated locally first; invalid items are answered without an upstream call. The
+ * rest are sent upstream in chunks of at most {@code employee.api.batch.chunk-size} items, one
+ * chunk after another, so a batch of thousands of employees costs a handful of upstream calls. A
+ * chunk that still fails after retries fails only its own items; the other chunks are unaffected.
+ *
+ * <p>Keyed creates run through the {@link IdempotencyStore} as a whole, fingerprinted by the whole
+ * body, so a replayed batch answers with the original results instead of going upstream again. A
+ * batch with items that failed retryably is not remembered; its retry is sent upstream again, where
+ * the per-chunk keys let the external API skip the chunks it already created.
+ */
+@Slf4j
+@Service
+public class EmployeeBatchService {
+
+    private final EmployeeService employeeService;
+    private final InputValidator validator;
+    private final IdempotencyStore idempotencyStore;
+    private final int chunkSize;
+    private final int maxItems;
+
+    /**
+     * Constructs an EmployeeBatchService.
+     *
+     * @param employeeService  the service making the upstream batch calls
+     * @param validator        the validator applied to every item
+     * @param idempotencyStore the store deduplicating keyed creates
+     * @param chunkSize        the number of items sent upstream per call
+     * @param maxItems         the number of items a client batch may carry
+     */
+    public EmployeeBatchService(
+            EmployeeService employeeService,
+            InputValidator validator,
+            IdempotencyStore idempotencyStore,
+            @Value("${employee.api.batch.chunk-size:500}") int chunkSize,
+            @Value("${employee.api.batch.max-items:10000}") int maxItems) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Batch chunk size must be positive");
+        }
+        this.employeeService = employeeService;
+        this.validator = validator;
+        this.idempotencyStore = idempotencyStore;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Fetches employees by ID.
+     *
+     * @param ids the IDs to fetch
+     * @return a result per ID, in request order
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    public List<BatchItemResult<Employee>> getEmployees(List<String> ids) {
+        return execute(
+                ids,
+                validator::validateID,
+                (chunk, number) -> employeeService.getEmployeesByIds(chunk),
+                Function.identity());
+    }
+
+    /**
+     * Creates employees.
+     *
+     * @param requests       the employees to create
+     * @param idempotencyKey the scoped key identifying this batch across retries, or null for a
+     *                       batch that is not retried; each chunk is keyed by its position within
+     *                       the batch
+     * @return a result per request carrying the created employee, in request order
+     * @throws InvalidInputException if the batch is empty or too large, or the key was already used
+     *                               for a different batch
+     */
+    public List<BatchItemResult<Employee>> createEmployees(List<EmployeeDto> requests, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(requests, UUID.randomUUID().toString());
+        }
+        return idempotencyStore.execute(
+                idempotencyKey,
+                fingerprint(requests),
+                () -> create(requests, idempotencyKey),
+                EmployeeBatchService::isFinal);
+    }
+
+    private List<BatchItemResult<Employee>> create(List<EmployeeDto> requests, String batchKey) {
+        return execute(
+                requests,
+                validator::validate,
+                (chunk, number) -> employeeService.createEmployees(chunk, batchKey + ":" + number),
+                Function.identity());
+    }
+
+    /**
+     * Deletes employees by ID.
+     *
+     * @param ids the IDs to delete
+     * @return a result per ID carrying the name of the deleted employee, in request order
+     * @throws InvalidInputException if the batch is empty or too large
+     */
+    public List<BatchItemResult<String>> deleteEmployees(List<String> ids) {
+        return execute(
+                ids,
+                validator::validateID,
+                (chunk, number) -> employeeService.deleteEmployeesByIds(chunk),
+                Employee::getName);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I, T> List<BatchItemResult<T>> execute(
+            List<I> items,
+            Consumer<I> validation,
+            BiFunction<List<I>, Integer, List<BatchItemResult<Employee>>> upstream,
+            Function<Employee, T> mapper) {
+        if (items == null || items.isEmpty()) {
+            throw new InvalidInputException("Batch must contain at least one item");
+        }
+        if (items.size() > maxItems) {
+            throw new InvalidInputException("Batch must contain at most " + maxItems + " items");
+        }
+        BatchItemResult<T>[] results = new BatchItemResult[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                if (items.get(i) == null) {
+                    throw new InvalidInputException("Item must not be null");
+                }
+                validation.accept(items.get(i));
+                accepted.add(i);
+            } catch (InvalidInputException ex) {
+                results[i] = new BatchItemResult<>(i, HttpStatus.BAD_REQUEST.value(), null, ex.getMessage());
+            }
+        }
+
+        for (int from = 0; from < accepted.size(); from += chunkSize) {
+            List<Integer> indexes = accepted.subList(from, Math.min(from + chunkSize, accepted.size()));
+            List<I> chunk = indexes.stream().map(items::get).toList();
+            try {
+                for (BatchItemResult<Employee> result : upstream.apply(chunk, from / chunkSize)) {
+                    if (result.getIndex() >= 0 && result.getIndex() < indexes.size()) {
+                        int index = indexes.get(result.getIndex());
+                        T data = result.getData() == null ? null : mapper.apply(result.getData());
+                        results[index] = new BatchItemResult<>(index, result.getStatus(), data, result.getError());
+                    }
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Batch chunk of {} items failed: {}", chunk.size(), ex.getMessage());
+                for (int index : indexes) {
+                    results[index] = new BatchItemResult<>(index, statusOf(ex), null, ex.getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = new BatchItemResult<>(
+                        i, HttpStatus.BAD_GATEWAY.value(), null, "No result from upstream employee service api");
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // A digest rather than the requests themselves, so remembered batches do not keep their items alive
+    private static String fingerprint(List<EmployeeDto> requests) {
+        if (requests == null) {
+            return "";
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (EmployeeDto request : requests) {
+                digest.update(String.valueOf(request).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // Items that were throttled or failed upstream may succeed when the client retries
+    private static boolean isFinal(List<BatchItemResult<Employee>> results) {
+        return results.stream()
+                .noneMatch(result -> result.getStatus() == HttpStatus.TOO_MANY_REQUESTS.value()
+                        || result.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+    private static int statusOf(RuntimeException ex) {
+        HttpStatus status;
+        if (ex instanceof InvalidInputException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (ex instanceof TooManyRequestsException || ex instanceof ClientQueueFullException) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (ex instanceof CallNotPermittedException) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (ex instanceof ExternalServiceException || ex instanceof WebClientRequestException) {
+            status = HttpStatus.BAD_GATEWAY;
+        } else {
+            status = HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+        return status.value();
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.web.TenantContext;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Holds the last roster successfully fetched from the external API, per tenant.
+ *
+ * <p>While the upstream circuit breaker is open, read operations are answered from the snapshot of
+ * the current request's tenant and the request is marked as stale so the response can advertise
+ * the snapshot age. Snapshots are only kept for tenants the external API served a roster for.
+ */
+@Slf4j
+@Component
+public class EmployeeRosterSnapshot {
+
+    /** Request attribute carrying the {@link Duration} age of a stale response. */
+    public static final String STALE_AGE_ATTRIBUTE = EmployeeRosterSnapshot.class.getName() + ".staleAge";
+
+    private final Map<String, Snapshot> byTenant = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the current tenant's snapshot with a freshly fetched roster.
+     *
+     * @param employees the roster returned by the external API
+     */
+    public void update(List<Employee> employees) {
+        byTenant.put(
+                TenantContext.current(),
+                new Snapshot(Collections.unmodifiableList(new ArrayList<>(employees)), Instant.now()));
+    }
+
+    /**
+     * Returns the current tenant's last known roster and marks the current request as served stale.
+     *
+     * @return the snapshot roster, or empty if no roster has been fetched yet
+     */
+    public Optional<List<Employee>> serveStale() {
+        Snapshot snapshot = byTenant.get(TenantContext.current());
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        Duration age = Duration.between(snapshot.capturedAt(), Instant.now());
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(STALE_AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        }
+        log.warn("Serving stale roster of {} employees, age {}s", snapshot.employees().size(), age.toSeconds());
+        return Optional.of(snapshot.employees());
+    }
+
+    private record Snapshot(List<Employee> employees, Instant capturedAt) {}
+}
@@ -1,33 +1,51 @@
 package com.reliaquest.api.service;
 
+import com.reliaquest.api.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.exceptions.TooManyRequestsException;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.util.EmployeeRosterUtil;
 import com.reliaquest.api.util.WebClientErrorHandler;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * Service class for managing Employee operations via an external API.
+ *
+ * <p>Upstream calls are guarded by the {@code employeeApi} circuit breaker. While it is open, reads
+ * are answered from the last known {@link EmployeeRosterSnapshot} and writes fail fast. Every call
+ * is admitted through the {@link UpstreamCallScheduler}: writes ahead of interactive reads, and
+ * background refreshes only when the upstream budget has room to spare.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeService {
 
+    private static final int TOP_EARNERS_LIMIT = 10;
+    private static final ParameterizedTypeReference<ApiResponse<List<BatchItemResult<Employee>>>> BATCH_RESULTS =
+            new ParameterizedTypeReference<>() {};
+
     private final WebClient employeeApiClient;
     private final WebClientErrorHandler errorHandler;
+    private final EmployeeRosterSnapshot rosterSnapshot;
+    private final UpstreamCallScheduler upstreamScheduler;
+    private final UpstreamMetrics upstreamMetrics;
 
     /**
      * Fetches all employees from the external API.
@@ -35,36 +53,67 @@ public class EmployeeService {
      * @return a list of all employees
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi", fallbackMethod = "getAllEmployeesFromSnapshot")
     public List<Employee> getAllEmployees() {
         log.debug("Fetching all employees");
         List<Employee> employees;
         try {
-            employees = employeeApiClient
-                    .get()
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
-                    .map(ApiResponse::getData)
-                    .defaultIfEmpty(Collections.emptyList())
-                    .block();
+            employees = callUpstream("roster", UpstreamPriority.INTERACTIVE_READ, this::fetchAllEmployees);
         } catch (WebClientResponseException ex) {
-            throw errorHandler.handleException(ex);
+            throw upstreamError(ex);
         }
         log.debug("Successfully fetched total employees: {}", employees.size());
+        rosterSnapshot.update(employees);
         return employees;
     }
 
+    /**
+     * Refreshes the roster snapshot if the upstream budget allows background work.
+     *
+     * @return true if the snapshot was refreshed, false if the refresh was dropped or failed
+     */
+    public boolean refreshRosterSnapshot() {
+        try {
+            Optional<List<Employee>> employees = upstreamScheduler.tryCall(
+                    UpstreamPriority.BACKGROUND, () -> upstreamMetrics.time("refresh", this::fetchAllEmployees));
+            employees.ifPresent(rosterSnapshot::update);
+            return employees.isPresent();
+        } catch (WebClientResponseException ex) {
+            log.debug("Background roster refresh failed", upstreamError(ex));
+            return false;
+        } catch (RuntimeException ex) {
+            log.debug("Background roster refresh failed", ex);
+            return false;
+        }
+    }
+
     /**
      * Searches for employees whose names contain the specified search string (case-insensitive).
      *
+     * <p>The filter is pushed down to the external API, so only matching employees are transferred.
+     *
      * @param searchName the name or partial name to search for
      * @return a list of employees matching the search criteria
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi", fallbackMethod = "searchEmployeesByNameFromSnapshot")
     public List<Employee> searchEmployeesByName(String searchName) {
         log.info("Searching employees with name: {}", searchName);
-        List<Employee> matchedEmployees = getAllEmployees().stream()
-                .filter(e -> e.getName() != null && e.getName().toLowerCase().contains(searchName.toLowerCase()))
-                .collect(Collectors.toList());
+        List<Employee> candidates;
+        try {
+            candidates = callUpstream("search", UpstreamPriority.INTERACTIVE_READ, () -> employeeApiClient
+                    .get()
+                    .uri("?nameContains={name}", searchName)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
+                    .map(ApiResponse::getData)
+                    .defaultIfEmpty(Collections.emptyList())
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
+        }
+        // Filter again so an upstream that ignores the parameter still yields only matches
+        List<Employee> matchedEmployees = EmployeeRosterUtil.filterByName(candidates, searchName);
         log.debug("Search successful for: '{}'. total matches found: {}", searchName, matchedEmployees.size());
         return matchedEmployees;
     }
@@ -76,57 +125,84 @@ public class EmployeeService {
      * @return the employee with the specified ID
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi", fallbackMethod = "getEmployeeByIdFromSnapshot")
     public Employee getEmployeeById(String id) {
         log.info("Fetching employee by ID: {}", id);
+        Employee employee = fetchEmployee("getById", UpstreamPriority.INTERACTIVE_READ, id);
+        log.debug("Successfully fetched employee with id: {}", id);
+        return employee;
+    }
+
+    private Employee fetchEmployee(String operation, UpstreamPriority priority, String id) {
         Employee employee;
         try {
-            employee = employeeApiClient
+            employee = callUpstream(operation, priority, () -> employeeApiClient
                     .get()
                     .uri("/{id}", id)
                     .retrieve()
                     .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
-                    .map(ApiResponse::getData)
-                    .block();
+                    .mapNotNull(ApiResponse::getData)
+                    .block());
         } catch (WebClientResponseException ex) {
-            throw errorHandler.handleException(ex);
+            throw upstreamError(ex);
         }
-        log.debug("Successfully fetched employee with id: {}", id);
-        return employee;
+        return requireFound(employee);
     }
 
     /**
-     * Calculates the highest salary among all employees.
+     * Retrieves the highest salary among all employees.
+     *
+     * <p>The external API maintains the aggregate, so the roster itself is not transferred.
      *
      * @return the highest salary, or 0 if no employees exist
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi", fallbackMethod = "getHighestSalaryFromSnapshot")
     public Integer getHighestSalary() {
-        log.info("Calculating highest employee salary");
-        Optional<Employee> highestSalaryEmployee =
-                getAllEmployees().stream().max(Comparator.comparing(Employee::getSalary));
-        if (highestSalaryEmployee.isPresent()) {
-            Employee emp = highestSalaryEmployee.get();
-            log.debug("Highest salary belongs to employee ID: {}", emp.getId());
-            return emp.getSalary();
-        } else {
-            log.warn("No employees found to calculate highest salary");
-            return 0;
+        log.info("Fetching highest employee salary");
+        Integer highestSalary;
+        try {
+            highestSalary = callUpstream("highestSalary", UpstreamPriority.INTERACTIVE_READ, () -> employeeApiClient
+                    .get()
+                    .uri("/aggregates/highest-salary")
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<Integer>>() {})
+                    .mapNotNull(ApiResponse::getData)
+                    .defaultIfEmpty(0)
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
         }
+        log.debug("Fetched highest salary: {}", highestSalary);
+        return highestSalary;
     }
 
     /**
      * Retrieves the names of the top 10 highest earning employees.
      *
+     * <p>Only the top earners are requested from the external API; they are ranked again locally,
+     * so the result stays correct against an upstream that returns them unordered.
+     *
      * @return a list of names of the top 10 highest earning employees
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi", fallbackMethod = "getTopTenHighestEarningEmployeeNamesFromSnapshot")
     public List<String> getTopTenHighestEarningEmployeeNames() {
         log.info("Fetching top 10 highest earning employee names");
-        List<String> topEarners = getAllEmployees().stream()
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
+        List<Employee> candidates;
+        try {
+            candidates = callUpstream("topEarners", UpstreamPriority.INTERACTIVE_READ, () -> employeeApiClient
+                    .get()
+                    .uri("/aggregates/top-earners?limit={limit}", TOP_EARNERS_LIMIT)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
+                    .map(ApiResponse::getData)
+                    .defaultIfEmpty(Collections.emptyList())
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
+        }
+        List<String> topEarners = EmployeeRosterUtil.topEarnerNames(candidates, TOP_EARNERS_LIMIT);
         log.debug("Fetched top 10 earning employee names: {}", topEarners.size());
         return topEarners;
     }
@@ -134,23 +210,29 @@ public class EmployeeService {
     /**
      * Creates a new employee via the external API.
      *
-     * @param request the employee data to create
+     * <p>The idempotency key is sent upstream with every attempt, so a retry after a lost response
+     * returns the employee created by the first attempt instead of creating a duplicate.
+     *
+     * @param request        the employee data to create
+     * @param idempotencyKey the key identifying this logical create across retries
      * @return the created employee
      */
     @Retry(name = "employeeApiRetry")
-    public Employee createEmployee(EmployeeDto request) {
+    @CircuitBreaker(name = "employeeApi")
+    public Employee createEmployee(EmployeeDto request, String idempotencyKey) {
         log.info("Creating new employee with name");
         Employee employee;
         try {
-            employee = employeeApiClient
+            employee = callUpstream("create", UpstreamPriority.WRITE, () -> employeeApiClient
                     .post()
+                    .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
                     .bodyValue(request)
                     .retrieve()
                     .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
                     .map(ApiResponse::getData)
-                    .block();
+                    .block());
         } catch (WebClientResponseException ex) {
-            throw errorHandler.handleException(ex);
+            throw upstreamError(ex);
         }
         log.debug("Successfully created employee with id: {}", employee.getId());
         return employee;
@@ -159,25 +241,199 @@ public class EmployeeService {
     /**
      * Deletes an employee by their unique ID via the external API.
      *
+     * <p>The employee is removed with a single call to the ID endpoint, which answers with the
+     * deleted record. Against an external API that only deletes by name, answering the ID endpoint
+     * with 405 Method Not Allowed, the employee is looked up first and then deleted by name.
+     *
      * @param id the unique ID of the employee to delete
      * @return the name of the deleted employee
      */
     @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi")
     public String deleteEmployeeById(String id) {
         log.info("Deleting employee with ID: {}", id);
-        Employee emp = getEmployeeById(id);
+        Employee emp;
+        try {
+            emp = callUpstream("deleteById", UpstreamPriority.WRITE, () -> employeeApiClient
+                    .method(HttpMethod.DELETE)
+                    .uri("/{id}", id)
+                    .retrieve()
+                    .bodyToMono(new ParameterizedTypeReference<ApiResponse<Employee>>() {})
+                    .mapNotNull(ApiResponse::getData)
+                    .block());
+        } catch (WebClientResponseException ex) {
+            if (ex.getStatusCode().value() != HttpStatus.METHOD_NOT_ALLOWED.value()) {
+                throw upstreamError(ex);
+            }
+            log.debug("External API does not delete by ID, deleting employee {} by name", id);
+            return deleteEmployeeByName(id);
+        }
+        log.debug("Successfully deleted employee with ID: {}", id);
+        return requireFound(emp).getName();
+    }
+
+    // The lookup is part of the write, so it is admitted at write priority
+    private String deleteEmployeeByName(String id) {
+        Employee emp = fetchEmployee("deleteLookup", UpstreamPriority.WRITE, id);
         EmployeeDto input = EmployeeDto.builder().name(emp.getName()).build();
         try {
-            employeeApiClient
+            callUpstream("deleteByName", UpstreamPriority.WRITE, () -> employeeApiClient
                     .method(HttpMethod.DELETE)
                     .bodyValue(input)
                     .retrieve()
                     .bodyToMono(Void.class)
-                    .block();
+                    .block());
         } catch (WebClientResponseException ex) {
-            throw errorHandler.handleException(ex);
+            throw upstreamError(ex);
         }
         log.debug("Successfully deleted employee with ID: {}", id);
         return emp.getName();
     }
+
+    /**
+     * Fetches a batch of employees by ID with a single upstream call.
+     *
+     * @param ids the IDs to fetch, at most as many as the external API accepts per batch
+     * @return a result per ID, indexed by its position in {@code ids}
+     */
+    @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi")
+    public List<BatchItemResult<Employee>> getEmployeesByIds(List<String> ids) {
+        log.info("Fetching batch of {} employees", ids.size());
+        try {
+            return callUpstream("batchGet", UpstreamPriority.INTERACTIVE_READ, () -> employeeApiClient
+                    .post()
+                    .uri("/batch/get")
+                    .bodyValue(ids)
+                    .retrieve()
+                    .bodyToMono(BATCH_RESULTS)
+                    .map(ApiResponse::getData)
+                    .defaultIfEmpty(Collections.emptyList())
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
+        }
+    }
+
+    /**
+     * Creates a batch of employees with a single upstream call.
+     *
+     * <p>The idempotency key covers the whole batch; the external API keys each item by its
+     * position, so a retry creates only the items the lost attempt did not.
+     *
+     * @param requests       the employees to create, at most as many as the external API accepts per batch
+     * @param idempotencyKey the key identifying this batch across retries
+     * @return a result per request, indexed by its position in {@code requests}
+     */
+    @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi")
+    public List<BatchItemResult<Employee>> createEmployees(List<EmployeeDto> requests, String idempotencyKey) {
+        log.info("Creating batch of {} employees", requests.size());
+        try {
+            return callUpstream("batchCreate", UpstreamPriority.WRITE, () -> employeeApiClient
+                    .post()
+                    .uri("/batch")
+                    .header(IdempotencyStore.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .bodyValue(requests)
+                    .retrieve()
+                    .bodyToMono(BATCH_RESULTS)
+                    .map(ApiResponse::getData)
+                    .defaultIfEmpty(Collections.emptyList())
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
+        }
+    }
+
+    /**
+     * Deletes a batch of employees by ID with a single upstream call.
+     *
+     * @param ids the IDs to delete, at most as many as the external API accepts per batch
+     * @return a result per ID carrying the deleted employee, indexed by its position in {@code ids}
+     */
+    @Retry(name = "employeeApiRetry")
+    @CircuitBreaker(name = "employeeApi")
+    public List<BatchItemResult<Employee>> deleteEmployeesByIds(List<String> ids) {
+        log.info("Deleting batch of {} employees", ids.size());
+        try {
+            return callUpstream("batchDelete", UpstreamPriority.WRITE, () -> employeeApiClient
+                    .method(HttpMethod.DELETE)
+                    .uri("/batch")
+                    .bodyValue(ids)
+                    .retrieve()
+                    .bodyToMono(BATCH_RESULTS)
+                    .map(ApiResponse::getData)
+                    .defaultIfEmpty(Collections.emptyList())
+                    .block());
+        } catch (WebClientResponseException ex) {
+            throw upstreamError(ex);
+        }
+    }
+
+    // Admits the call through the scheduler and times only the upstream call itself
+    private <T> T callUpstream(String operation, UpstreamPriority priority, Supplier<T> upstreamCall) {
+        return upstreamScheduler.call(priority, () -> upstreamMetrics.time(operation, upstreamCall));
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        return employeeApiClient
+                .get()
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<ApiResponse<List<Employee>>>() {})
+                .map(ApiResponse::getData)
+                .defaultIfEmpty(Collections.emptyList())
+                .block();
+    }
+
+    // An answer without an employee, e.g. {"data": null}, means there was none to return
+    private static Employee requireFound(Employee employee) {
+        if (employee == null) {
+            throw new EmployeeNotFoundException("Employee with given ID not found");
+        }
+        return employee;
+    }
+
+    private RuntimeException upstreamError(WebClientResponseException ex) {
+        RuntimeException mapped = errorHandler.handleException(ex);
+        if (mapped instanceof TooManyRequestsException) {
+            upstreamMetrics.onThrottled();
+            upstreamScheduler.onThrottled();
+        }
+        return mapped;
+    }
+
+    private Integer highestSalaryOf(List<Employee> employees) {
+        Optional<Employee> highestSalaryEmployee = EmployeeRosterUtil.highestEarner(employees);
+        if (highestSalaryEmployee.isPresent()) {
+            Employee emp = highestSalaryEmployee.get();
+            log.debug("Highest salary belongs to employee ID: {}", emp.getId());
+            return emp.getSalary();
+        } else {
+            log.warn("No employees found to calculate highest salary");
+            return 0;
+        }
+    }
+
+    // Circuit breaker fallbacks. Only CallNotPermittedException is handled here, so upstream
+    // failures on a closed breaker still propagate to the retry and exception handlers.
+
+    private List<Employee> getAllEmployeesFromSnapshot(CallNotPermittedException ex) {
+        return rosterSnapshot.serveStale().orElseThrow(() -> ex);
+    }
+
+    private List<Employee> searchEmployeesByNameFromSnapshot(String searchName, CallNotPermittedException ex) {
+        return EmployeeRosterUtil.filterByName(getAllEmployeesFromSnapshot(ex), searchName);
+    }
+
+    private Employee getEmployeeByIdFromSnapshot(String id, CallNotPermittedException ex) {
+        return EmployeeRosterUtil.findById(getAllEmployeesFromSnapshot(ex), id).orElseThrow(() -> ex);
+    }
+
+    private Integer getHighestSalaryFromSnapshot(CallNotPermittedException ex) {
+        return highestSalaryOf(getAllEmployeesFromSnapshot(ex));
+    }
+
+    private List<String> getTopTenHighestEarningEmployeeNamesFromSnapshot(CallNotPermittedException ex) {
+        return EmployeeRosterUtil.topEarnerNames(getAllEmployeesFromSnapshot(ex), TOP_EARNERS_LIMIT);
+    }
 }
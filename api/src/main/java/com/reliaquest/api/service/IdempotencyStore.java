@@ -0,0 +1,164 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.exceptions.RequestInProgressException;
+import com.reliaquest.api.web.ClientIdentity;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, time-limited store of in-flight and completed results keyed by {@code Idempotency-Key}.
+ *
+ * <p>Keys are scoped to the calling client. A replay of a completed key returns the original
+ * result, and a replay arriving while the original is still in flight waits a bounded time for it
+ * instead of triggering a second upstream write. Failed executions are forgotten so the client can
+ * retry.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long replayWaitNanos;
+
+    // Guarded by this; insertion order equals expiry order since every entry has the same TTL
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    /**
+     * Constructs an IdempotencyStore.
+     *
+     * @param ttl        how long a completed result is replayed
+     * @param maxEntries the number of keys kept before the oldest are evicted
+     * @param replayWait how long a replay waits for the original request still in flight
+     */
+    public IdempotencyStore(
+            @Value("${employee.api.idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${employee.api.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${employee.api.idempotency.replay-wait:PT10S}") Duration replayWait) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.replayWaitNanos = replayWait.toNanos();
+    }
+
+    /**
+     * Derives the key used for the current client, which is also safe to forward upstream.
+     *
+     * @param idempotencyKey the key supplied by the client
+     * @return a key unique to the client and the supplied key
+     */
+    public String scopedKey(String idempotencyKey) {
+        String scope = ClientIdentity.current() + "|" + idempotencyKey.strip();
+        return UUID.nameUUIDFromBytes(scope.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Executes the action once per key, replaying its result for repeated keys.
+     *
+     * @param scopedKey   the key returned by {@link #scopedKey(String)}
+     * @param fingerprint the request the key was issued for
+     * @param action      the action performing the write
+     * @param <T>         the type of the result
+     * @return the result of the first execution for the key
+     * @throws InvalidInputException      if the key was already used for a different request
+     * @throws RequestInProgressException if the first execution for the key is still in flight
+     *                                    after the replay wait
+     */
+    public <T> T execute(String scopedKey, Object fingerprint, Supplier<T> action) {
+        return execute(scopedKey, fingerprint, action, result -> true);
+    }
+
+    /**
+     * Executes the action once per key, replaying its result for repeated keys as long as the
+     * result is worth replaying. A result the predicate rejects is still handed to replays already
+     * waiting for it, but then forgotten like a failure, so the client can retry.
+     *
+     * @param scopedKey   the key returned by {@link #scopedKey(String)}
+     * @param fingerprint the request the key was issued for
+     * @param action      the action performing the write
+     * @param replayable  whether a result is final and may be replayed to later requests
+     * @param <T>         the type of the result
+     * @return the result of the first execution for the key
+     * @throws InvalidInputException      if the key was already used for a different request
+     * @throws RequestInProgressException if the first execution for the key is still in flight
+     *                                    after the replay wait
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scopedKey, Object fingerprint, Supplier<T> action, Predicate<? super T> replayable) {
+        Entry mine = new Entry(fingerprint, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+        Entry existing;
+        synchronized (this) {
+            evict(System.nanoTime());
+            existing = entries.putIfAbsent(scopedKey, mine);
+        }
+        if (existing != null) {
+            if (!Objects.equals(existing.fingerprint(), fingerprint)) {
+                throw new InvalidInputException("Idempotency-Key was already used for a different request");
+            }
+            log.info("Replaying result for idempotency key {}", scopedKey);
+            return (T) await(existing.result());
+        }
+
+        try {
+            T result = action.get();
+            if (!replayable.test(result)) {
+                synchronized (this) {
+                    entries.remove(scopedKey, mine);
+                }
+            }
+            mine.result().complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                entries.remove(scopedKey, mine);
+            }
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(replayWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new RequestInProgressException("Request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RequestInProgressException("Interrupted while waiting for the request in progress");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private void evict(long now) {
+        Iterator<Map.Entry<String, Entry>> oldestFirst = entries.entrySet().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry oldest = oldestFirst.next().getValue();
+            if (entries.size() < maxEntries && oldest.expiresAtNanos() - now > 0) {
+                return;
+            }
+            oldestFirst.remove();
+        }
+    }
+
+    private record Entry(Object fingerprint, CompletableFuture<Object> result, long expiresAtNanos) {}
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the default tenant's roster snapshot warm with background-priority refreshes.
+ *
+ * <p>Refreshes are dropped whenever the upstream budget is needed for user-facing calls. Other
+ * tenants' snapshots are refreshed by their own successful roster reads.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "employee.api.snapshot.refresh-enabled", havingValue = "true")
+public class RosterSnapshotRefresher {
+
+    private final EmployeeService employeeService;
+
+    /**
+     * Refreshes the roster snapshot on a fixed delay.
+     */
+    @Scheduled(fixedDelayString = "${employee.api.snapshot.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!employeeService.refreshRosterSnapshot()) {
+            log.debug("Roster snapshot refresh deferred to the next interval");
+        }
+    }
+}
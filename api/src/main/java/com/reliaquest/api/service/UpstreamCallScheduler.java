@@ -0,0 +1,403 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exceptions.ClientQueueFullException;
+import com.reliaquest.api.exceptions.ServiceOverloadedException;
+import com.reliaquest.api.jfr.PhaseEvent;
+import com.reliaquest.api.web.ClientIdentity;
+import com.reliaquest.api.web.TenantContext;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Central scheduler admitting calls to the external employee API.
+ *
+ * <p>A call needs both a concurrency slot, shared by all tenants, and a token from the upstream rate
+ * budget of its {@link TenantContext tenant}, so one tenant spending its budget does not hold up the
+ * others. Waiting calls are granted strictly by {@link UpstreamPriority}, and within a priority
+ * class in weighted round-robin order per client, so a single busy client cannot push every other
+ * client to the back of the line. Lower classes must leave a reserve of their tenant's tokens for
+ * the classes above them, and background work is never queued: it is dropped when it cannot be
+ * admitted immediately. At most {@code max-tenants} budgets are kept, evicting the least recently
+ * used one.
+ */
+@Slf4j
+@Component
+public class UpstreamCallScheduler {
+
+    private final int maxConcurrent;
+    private final int maxQueuedPerClient;
+    private final long maxWaitNanos;
+    private final Map<String, Integer> clientWeights;
+    private final double burst;
+    private final double tokensPerNano;
+    private final Map<UpstreamPriority, Double> reserves = new EnumMap<>(UpstreamPriority.class);
+
+    private final int maxTenants;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock
+    private final Map<UpstreamPriority, FairQueue> queues = new EnumMap<>(UpstreamPriority.class);
+    // Guarded by lock; access order, so the eldest entry is the least recently used tenant
+    private final Map<String, Budget> budgets;
+    private int active;
+    private int waiting;
+
+    /**
+     * Constructs an UpstreamCallScheduler.
+     *
+     * @param maxConcurrent      the number of upstream calls allowed to run at once
+     * @param maxQueuedPerClient the number of calls a single client may have waiting per priority
+     * @param maxWaitMillis      how long a call may wait for admission
+     * @param clientWeights      the share of upstream capacity per client id, defaulting to 1
+     * @param ratePerSecond      the sustained upstream call rate per tenant, or 0 for no rate budget
+     * @param burst              the number of upstream calls a tenant may make back to back
+     * @param readReserve        tokens interactive reads must leave for writes
+     * @param backgroundReserve  tokens background work must leave for user-facing calls
+     * @param maxTenants         the number of tenant budgets kept before the least recently used is evicted
+     */
+    public UpstreamCallScheduler(
+            @Value("${employee.api.upstream.max-concurrent:8}") int maxConcurrent,
+            @Value("${employee.api.upstream.max-queued-per-client:32}") int maxQueuedPerClient,
+            @Value("${employee.api.upstream.max-wait-millis:5000}") long maxWaitMillis,
+            @Value("#{${employee.api.upstream.client-weights:{:}}}") Map<String, Integer> clientWeights,
+            @Value("${employee.api.upstream.budget.rate-per-second:0}") double ratePerSecond,
+            @Value("${employee.api.upstream.budget.burst:10}") double burst,
+            @Value("${employee.api.upstream.budget.read-reserve:1}") double readReserve,
+            @Value("${employee.api.upstream.budget.background-reserve:3}") double backgroundReserve,
+            @Value("${employee.api.upstream.budget.max-tenants:1000}") int maxTenants) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueuedPerClient = maxQueuedPerClient;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.clientWeights = Map.copyOf(clientWeights);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = ratePerSecond > 0 ? burst : Double.POSITIVE_INFINITY;
+        this.maxTenants = maxTenants;
+        this.budgets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Budget> eldest) {
+                return size() > UpstreamCallScheduler.this.maxTenants;
+            }
+        };
+        reserves.put(UpstreamPriority.WRITE, 0d);
+        reserves.put(UpstreamPriority.INTERACTIVE_READ, readReserve);
+        reserves.put(UpstreamPriority.BACKGROUND, backgroundReserve);
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            queues.put(priority, new FairQueue());
+        }
+    }
+
+    /**
+     * Runs an upstream call once the current client is granted a slot for the given priority.
+     *
+     * @param priority     the priority class of the call
+     * @param upstreamCall the blocking upstream call
+     * @param <T>          the type of the call result
+     * @return the result of the upstream call
+     * @throws ClientQueueFullException   if the client already has too many calls waiting
+     * @throws ServiceOverloadedException if no slot was granted within the maximum wait
+     */
+    public <T> T call(UpstreamPriority priority, Supplier<T> upstreamCall) {
+        PhaseEvent queued = PhaseEvent.start(PhaseEvent.UPSTREAM_QUEUE, priority.name());
+        try {
+            acquire(priority, ClientIdentity.current(), TenantContext.current());
+        } finally {
+            queued.commit();
+        }
+        try {
+            return upstreamCall.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Runs an upstream call only if it can be admitted without waiting.
+     *
+     * @param priority     the priority class of the call
+     * @param upstreamCall the blocking upstream call
+     * @param <T>          the type of the call result
+     * @return the result of the upstream call, or empty if the call was dropped
+     */
+    public <T> Optional<T> tryCall(UpstreamPriority priority, Supplier<T> upstreamCall) {
+        lock.lock();
+        try {
+            Budget budget = budgetOf(TenantContext.current());
+            if (!tryAdmitImmediately(priority, budget)) {
+                log.debug("Dropped {} upstream call, budget {} with {} waiting", priority, budget.tokens, waiting);
+                return Optional.empty();
+            }
+        } finally {
+            lock.unlock();
+        }
+        try {
+            return Optional.ofNullable(upstreamCall.get());
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Drains the current tenant's rate budget after the upstream signalled it is throttling us.
+     */
+    public void onThrottled() {
+        lock.lock();
+        try {
+            if (Double.isFinite(burst)) {
+                Budget budget = budgetOf(TenantContext.current());
+                budget.tokens = 0;
+                budget.lastRefillNanos = System.nanoTime();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(UpstreamPriority priority, String clientId, String tenant) {
+        lock.lock();
+        try {
+            Budget budget = budgetOf(tenant);
+            if (tryAdmitImmediately(priority, budget)) {
+                return;
+            }
+            if (priority == UpstreamPriority.BACKGROUND) {
+                throw new ServiceOverloadedException("Upstream budget reserved for user-facing calls");
+            }
+            FairQueue queue = queues.get(priority);
+            ClientQueue clientQueue = queue.enqueue(clientId, maxQueuedPerClient);
+            Waiter waiter = new Waiter(lock.newCondition(), budget);
+            clientQueue.waiters.addLast(waiter);
+            waiting++;
+            // A higher class may be admissible even while lower classes wait for budget
+            dispatch();
+            awaitGrant(priority, clientQueue, waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAdmitImmediately(UpstreamPriority priority, Budget budget) {
+        if (waiting == 0 && active < maxConcurrent && hasBudget(budget, priority)) {
+            budget.tokens -= 1;
+            active++;
+            return true;
+        }
+        return false;
+    }
+
+    private void awaitGrant(UpstreamPriority priority, ClientQueue clientQueue, Waiter waiter) {
+        long deadline = System.nanoTime() + maxWaitNanos;
+        try {
+            while (!waiter.granted) {
+                long now = System.nanoTime();
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    abandon(priority, clientQueue, waiter);
+                    log.warn("{} upstream call for client {} timed out waiting", priority, clientQueue.clientId);
+                    throw new ServiceOverloadedException("Upstream employee service api is saturated");
+                }
+                waiter.condition.awaitNanos(Math.min(remaining, nanosUntilToken(waiter.budget, priority)));
+                if (!waiter.granted) {
+                    // Tokens refill with time rather than on release, so waiters drive dispatch too
+                    dispatch();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            if (waiter.granted) {
+                release();
+            } else {
+                abandon(priority, clientQueue, waiter);
+            }
+            throw new ServiceOverloadedException("Interrupted while waiting for upstream admission");
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            active--;
+            dispatch();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Grants waiting calls strictly by priority. Calls whose tenant is out of budget are passed over
+    // for other tenants' calls; the tenant's calls in lower classes need at least as large a budget,
+    // so they cannot overtake them.
+    private void dispatch() {
+        for (UpstreamPriority priority : UpstreamPriority.values()) {
+            FairQueue queue = queues.get(priority);
+            while (!queue.isEmpty()) {
+                if (active >= maxConcurrent) {
+                    return;
+                }
+                Waiter next = queue.next(clientWeights, waiter -> hasBudget(waiter.budget, priority));
+                if (next == null) {
+                    break;
+                }
+                waiting--;
+                next.budget.tokens -= 1;
+                active++;
+                next.granted = true;
+                next.condition.signal();
+            }
+        }
+    }
+
+    private Budget budgetOf(String tenant) {
+        return budgets.computeIfAbsent(tenant, ignored -> new Budget(burst, System.nanoTime()));
+    }
+
+    private boolean hasBudget(Budget budget, UpstreamPriority priority) {
+        refill(budget, System.nanoTime());
+        return budget.tokens >= 1 + reserves.get(priority);
+    }
+
+    private long nanosUntilToken(Budget budget, UpstreamPriority priority) {
+        double missing = 1 + reserves.get(priority) - budget.tokens;
+        if (missing <= 0 || tokensPerNano == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1, (long) Math.ceil(missing / tokensPerNano));
+    }
+
+    private void refill(Budget budget, long nowNanos) {
+        long elapsed = nowNanos - budget.lastRefillNanos;
+        if (elapsed > 0 && Double.isFinite(burst)) {
+            budget.tokens = Math.min(burst, budget.tokens + elapsed * tokensPerNano);
+        }
+        budget.lastRefillNanos = nowNanos;
+    }
+
+    private void abandon(UpstreamPriority priority, ClientQueue clientQueue, Waiter waiter) {
+        if (queues.get(priority).remove(clientQueue, waiter)) {
+            waiting--;
+        }
+    }
+
+    /**
+     * Weighted round-robin queue across clients: the client at the head of the ring is served up
+     * to its weight in consecutive grants before moving to the back.
+     */
+    private static final class FairQueue {
+        private final Map<String, ClientQueue> byClient = new HashMap<>();
+        private final ArrayDeque<ClientQueue> ring = new ArrayDeque<>();
+
+        private boolean isEmpty() {
+            return ring.isEmpty();
+        }
+
+        private ClientQueue enqueue(String clientId, int maxQueuedPerClient) {
+            ClientQueue clientQueue = byClient.computeIfAbsent(clientId, ClientQueue::new);
+            if (clientQueue.waiters.size() >= maxQueuedPerClient) {
+                throw new ClientQueueFullException("Too many queued upstream calls for client");
+            }
+            if (clientQueue.waiters.isEmpty()) {
+                ring.addLast(clientQueue);
+            }
+            return clientQueue;
+        }
+
+        // Returns the next waiter the predicate admits, or null if there is none. A client whose next
+        // waiter is not admissible moves to the back of the ring, keeping its remaining credits.
+        private Waiter next(Map<String, Integer> clientWeights, Predicate<Waiter> admissible) {
+            for (int passed = 0; passed < ring.size(); passed++) {
+                if (admissible.test(ring.peekFirst().waiters.peekFirst())) {
+                    return poll(clientWeights);
+                }
+                ring.addLast(ring.pollFirst());
+            }
+            return null;
+        }
+
+        private Waiter poll(Map<String, Integer> clientWeights) {
+            ClientQueue clientQueue = ring.peekFirst();
+            if (clientQueue.credits == 0) {
+                clientQueue.credits = clientWeights.getOrDefault(clientQueue.clientId, 1);
+            }
+            Waiter waiter = clientQueue.waiters.pollFirst();
+            clientQueue.credits--;
+            if (clientQueue.waiters.isEmpty()) {
+                ring.pollFirst();
+                byClient.remove(clientQueue.clientId);
+            } else if (clientQueue.credits == 0) {
+                ring.addLast(ring.pollFirst());
+            }
+            return waiter;
+        }
+
+        private boolean remove(ClientQueue clientQueue, Waiter waiter) {
+            if (!clientQueue.waiters.remove(waiter)) {
+                return false;
+            }
+            if (clientQueue.waiters.isEmpty()) {
+                ring.remove(clientQueue);
+                byClient.remove(clientQueue.clientId);
+            }
+            return true;
+        }
+    }
+
+    private static final class ClientQueue {
+        private final String clientId;
+        private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        private int credits;
+
+        private ClientQueue(String clientId) {
+            this.clientId = clientId;
+        }
+    }
+
+    private static final class Waiter {
+        private final Condition condition;
+        private final Budget budget;
+        private boolean granted;
+
+        private Waiter(Condition condition, Budget budget) {
+            this.condition = condition;
+            this.budget = budget;
+        }
+    }
+
+    // A tenant's token bucket, guarded by the scheduler lock
+    private static final class Budget {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Budget(double tokens, long nowNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = nowNanos;
+        }
+    }
+}
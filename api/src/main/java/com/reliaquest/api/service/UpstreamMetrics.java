@@ -0,0 +1,122 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.jfr.PhaseEvent;
+import com.reliaquest.api.jfr.RetryBackoffEvent;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Micrometer meters of the calls made to the external employee API.
+ *
+ * <p>Each call is timed under {@code employee.upstream.calls}, tagged with the service operation and
+ * the upstream status ({@code 2xx} for successful calls), or the exception for calls that got no
+ * response. Retries of the {@code employeeApiRetry} instance, upstream 429s and the calls running
+ * or waiting in the {@link UpstreamCallScheduler} are recorded next to it. Calls and retries are also
+ * emitted as JFR {@link PhaseEvent}s and {@link RetryBackoffEvent}s.
+ */
+@Component
+public class UpstreamMetrics {
+
+    static final String RETRY_INSTANCE = "employeeApiRetry";
+
+    private final MeterRegistry meterRegistry;
+    private final Counter throttled;
+    // Meters by tag values, so recording a call does not look them up in the registry
+    private final ConcurrentMap<String, ConcurrentMap<String, Timer>> callTimers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> retryCounters = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs UpstreamMetrics and registers the retry and scheduler meters.
+     *
+     * @param meterRegistry     the registry the meters are registered with
+     * @param retryRegistry     the registry holding the upstream retry instance
+     * @param upstreamScheduler the scheduler admitting upstream calls
+     */
+    public UpstreamMetrics(
+            MeterRegistry meterRegistry, RetryRegistry retryRegistry, UpstreamCallScheduler upstreamScheduler) {
+        this.meterRegistry = meterRegistry;
+        this.throttled = Counter.builder("employee.upstream.throttled")
+                .description("Upstream calls answered with 429 Too Many Requests")
+                .register(meterRegistry);
+        retryRegistry
+                .retry(RETRY_INSTANCE)
+                .getEventPublisher()
+                .onRetry(event -> {
+                    retryCounter(exceptionTag(event.getLastThrowable())).increment();
+                    RetryBackoffEvent.emit(
+                            event.getName(),
+                            event.getNumberOfRetryAttempts(),
+                            event.getLastThrowable(),
+                            event.getWaitInterval().toMillis());
+                });
+        Gauge.builder("employee.upstream.inflight", upstreamScheduler, UpstreamCallScheduler::getActive)
+                .description("Upstream calls currently running")
+                .register(meterRegistry);
+        Gauge.builder("employee.upstream.waiting", upstreamScheduler, UpstreamCallScheduler::getWaiting)
+                .description("Upstream calls waiting for admission")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an upstream call and records its latency and outcome.
+     *
+     * @param operation    the service operation making the call
+     * @param upstreamCall the blocking upstream call
+     * @param <T>          the type of the call result
+     * @return the result of the upstream call
+     */
+    public <T> T time(String operation, Supplier<T> upstreamCall) {
+        PhaseEvent event = PhaseEvent.start(PhaseEvent.UPSTREAM_CALL, operation);
+        long start = System.nanoTime();
+        String status = "2xx";
+        try {
+            return upstreamCall.get();
+        } catch (WebClientResponseException ex) {
+            status = Integer.toString(ex.getStatusCode().value());
+            throw ex;
+        } catch (RuntimeException ex) {
+            status = exceptionTag(ex);
+            throw ex;
+        } finally {
+            event.commit();
+            callTimer(operation, status).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Counts an upstream call that was answered with 429 Too Many Requests.
+     */
+    public void onThrottled() {
+        throttled.increment();
+    }
+
+    private Timer callTimer(String operation, String status) {
+        return callTimers
+                .computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> Timer.builder("employee.upstream.calls")
+                        .description("Latency of calls to the external employee API")
+                        .tag("operation", operation)
+                        .tag("status", key)
+                        .register(meterRegistry));
+    }
+
+    private Counter retryCounter(String exception) {
+        return retryCounters.computeIfAbsent(exception, key -> Counter.builder("employee.upstream.retries")
+                .description("Retries of failed upstream calls")
+                .tag("exception", key)
+                .register(meterRegistry));
+    }
+
+    private static String exceptionTag(Throwable ex) {
+        return ex == null ? "none" : ex.getClass().getSimpleName();
+    }
+}
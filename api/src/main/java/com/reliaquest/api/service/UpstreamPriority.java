@@ -0,0 +1,13 @@
+package com.reliaquest.api.service;
+
+/**
+ * Priority classes for calls to the external employee API, highest first.
+ */
+public enum UpstreamPriority {
+    /** User-facing creates and deletes. */
+    WRITE,
+    /** Reads serving an interactive request. */
+    INTERACTIVE_READ,
+    /** Refresh and prefetch work that nobody is waiting on. */
+    BACKGROUND
+}
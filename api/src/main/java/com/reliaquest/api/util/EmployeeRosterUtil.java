@@ -0,0 +1,69 @@
+package com.reliaquest.api.util;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Utility class for the roster computations shared by live and snapshot-backed reads.
+ */
+public final class EmployeeRosterUtil {
+
+    private EmployeeRosterUtil() {}
+
+    /**
+     * Filters employees whose names contain the given search string (case-insensitive).
+     *
+     * @param employees  the roster to filter
+     * @param searchName the name or partial name to search for
+     * @return the matching employees, in roster order
+     */
+    public static List<Employee> filterByName(List<Employee> employees, String searchName) {
+        String needle = searchName.toLowerCase(Locale.ROOT);
+        return employees.stream()
+                .filter(e -> e.getName() != null && e.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the employee with the given ID.
+     *
+     * @param employees the roster to search
+     * @param id        the unique ID of the employee
+     * @return the employee, if present in the roster
+     */
+    public static Optional<Employee> findById(List<Employee> employees, String id) {
+        return employees.stream().filter(e -> id.equals(e.getId())).findFirst();
+    }
+
+    /**
+     * Finds the employee with the highest salary.
+     *
+     * @param employees the roster to search
+     * @return the highest earning employee, or empty if the roster is empty
+     */
+    public static Optional<Employee> highestEarner(List<Employee> employees) {
+        return employees.stream()
+                .filter(e -> e.getSalary() != null)
+                .max(Comparator.comparing(Employee::getSalary));
+    }
+
+    /**
+     * Collects the names of the highest earning employees.
+     *
+     * @param employees the roster to rank
+     * @param limit     the maximum number of names to return
+     * @return the names ordered by descending salary
+     */
+    public static List<String> topEarnerNames(List<Employee> employees, int limit) {
+        return employees.stream()
+                .filter(e -> e.getSalary() != null)
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(limit)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+    }
+}
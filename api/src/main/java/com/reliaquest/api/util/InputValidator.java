@@ -1,6 +1,7 @@
 package com.reliaquest.api.util;
 
 import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.jfr.PhaseEvent;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import java.util.Set;
@@ -14,7 +15,8 @@ import org.springframework.stereotype.Component;
  * <p>Cannot use @Valid at the controller layer due to the
  * {@link com.reliaquest.api.controller.IEmployeeController} interface contract.
  * This helper provides programmatic validation for request parameters or DTOs
- * before they are processed by the service layer.
+ * before they are processed by the service layer. Every validation is recorded as a
+ * {@link PhaseEvent#VALIDATE} phase.
  */
 @Component
 public class InputValidator {
@@ -42,11 +44,16 @@ public class InputValidator {
      * @throws InvalidInputException if the ID is blank or not a valid UUID
      */
     public <T> void validateID(String id) {
-        if (id.isBlank()) {
-            throw new InvalidInputException("Employee ID must be empty");
-        }
-        if (!UUID_PATTERN.matcher(id).matches()) {
-            throw new InvalidInputException("Employee ID must be a valid UUID");
+        PhaseEvent event = PhaseEvent.start(PhaseEvent.VALIDATE, "id");
+        try {
+            if (id.isBlank()) {
+                throw new InvalidInputException("Employee ID must be empty");
+            }
+            if (!UUID_PATTERN.matcher(id).matches()) {
+                throw new InvalidInputException("Employee ID must be a valid UUID");
+            }
+        } finally {
+            event.commit();
         }
     }
 
@@ -63,6 +70,16 @@ public class InputValidator {
      * @throws InvalidInputException if the target is null, a blank String, or has constraint violations
      */
     public <T> void validate(T target) {
+        PhaseEvent event =
+                PhaseEvent.start(PhaseEvent.VALIDATE, target == null ? "null" : target.getClass().getSimpleName());
+        try {
+            validateTarget(target);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private <T> void validateTarget(T target) {
         if (target == null) {
             throw new InvalidInputException("Input cannot be null");
         }
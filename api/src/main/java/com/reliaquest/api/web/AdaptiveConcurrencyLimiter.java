@@ -0,0 +1,123 @@
+package com.reliaquest.api.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gradient based concurrency limiter for ingress requests.
+ *
+ * <p>The limit follows the ratio between a long-term latency baseline and the latest sample. While
+ * latency stays near the baseline the limit grows by a queue allowance of {@code sqrt(limit)}; once
+ * requests start queueing the gradient drops below one and the limit shrinks towards the
+ * concurrency the api can actually serve.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    /**
+     * Constructs an AdaptiveConcurrencyLimiter.
+     *
+     * @param initialLimit the limit used before any latency has been measured
+     * @param minLimit     the lower bound of the limit
+     * @param maxLimit     the upper bound of the limit
+     * @param smoothing    the weight of a new limit estimate, between 0 and 1
+     * @param rttTolerance how much latency may exceed the baseline before the limit shrinks
+     * @param longWindow   the number of samples averaged into the latency baseline
+     */
+    public AdaptiveConcurrencyLimiter(
+            @Value("${employee.api.ingress.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${employee.api.ingress.concurrency.min-limit:4}") int minLimit,
+            @Value("${employee.api.ingress.concurrency.max-limit:200}") int maxLimit,
+            @Value("${employee.api.ingress.concurrency.smoothing:0.2}") double smoothing,
+            @Value("${employee.api.ingress.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+            @Value("${employee.api.ingress.concurrency.long-window:600}") int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longWindow = longWindow;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Admits a request if the number of in-flight requests is below the current limit.
+     *
+     * @return true if the request was admitted and must later be released
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request and feeds its latency into the limit estimate.
+     *
+     * @param rttNanos the time the request spent in the api
+     */
+    public void release(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        onSample(Math.max(1, rttNanos), inFlightAtCompletion);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / longWindow;
+        }
+        // Let the baseline recover quickly after a sustained latency increase has passed
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Under light load latency says nothing about capacity, so don't grow the limit
+        if (inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        if ((int) newLimit != limit) {
+            log.debug("Concurrency limit changed from {} to {}", limit, (int) newLimit);
+        }
+        estimatedLimit = newLimit;
+        limit = (int) newLimit;
+    }
+}
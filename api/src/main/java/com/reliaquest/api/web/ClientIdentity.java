@@ -0,0 +1,63 @@
+package com.reliaquest.api.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Set;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Utility class for identifying the client behind an api request.
+ *
+ * <p>Clients are identified by their {@code X-API-Key} header when it carries one of the configured
+ * keys, and by their remote address otherwise, so a client cannot mint fresh identities, and fresh
+ * quotas, by churning unknown keys. Outside the default tenant the id is scoped to the
+ * {@link TenantContext tenant}, so quotas, upstream fair queues and idempotency keys of one tenant's
+ * clients are never shared with another tenant.
+ */
+public final class ClientIdentity {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    /** Client id used for upstream calls made outside of an ingress request. */
+    public static final String INTERNAL_CLIENT = "internal";
+
+    private static final String CLIENT_ID_ATTRIBUTE = ClientIdentity.class.getName() + ".clientId";
+
+    private ClientIdentity() {}
+
+    /**
+     * Resolves the client id and tenant of the given request and binds both to the request.
+     *
+     * @param request the incoming request
+     * @param apiKeys the API keys clients may identify themselves with
+     * @return the client id
+     * @throws com.reliaquest.api.exceptions.InvalidInputException if the tenant header is invalid
+     */
+    public static String resolve(HttpServletRequest request, Set<String> apiKeys) {
+        String tenant = TenantContext.resolve(request);
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        String clientId = apiKey != null && apiKeys.contains(apiKey.strip())
+                ? "key:" + apiKey.strip()
+                : "ip:" + request.getRemoteAddr();
+        if (!TenantContext.DEFAULT_TENANT.equals(tenant)) {
+            clientId = "tenant:" + tenant + "|" + clientId;
+        }
+        request.setAttribute(CLIENT_ID_ATTRIBUTE, clientId);
+        return clientId;
+    }
+
+    /**
+     * Returns the client id bound to the current request.
+     *
+     * @return the client id, or {@link #INTERNAL_CLIENT} outside of an ingress request
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(CLIENT_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof String clientId) {
+            return clientId;
+        }
+        return INTERNAL_CLIENT;
+    }
+}
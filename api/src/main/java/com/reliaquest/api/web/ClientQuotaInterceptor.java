@@ -0,0 +1,79 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exceptions.TooManyRequestsException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor enforcing a token-bucket request quota per client.
+ *
+ * <p>Clients over their quota are answered with a 429 before they can spend any of the shared
+ * upstream allowance. At most {@code max-clients} buckets are kept, evicting the least recently
+ * used one in constant time; an evicted client starts over with a full bucket. Only configured API
+ * keys get buckets of their own; requests with any other key share the bucket of their address.
+ */
+@Slf4j
+@Component
+public class ClientQuotaInterceptor implements HandlerInterceptor {
+
+    private final double capacity;
+    private final double refillPerSecond;
+    private final int maxClients;
+    private final Set<String> apiKeys;
+
+    // Guarded by itself; access order, so the eldest entry is the least recently used client
+    private final Map<String, TokenBucket> buckets;
+
+    /**
+     * Constructs a ClientQuotaInterceptor.
+     *
+     * @param capacity        the burst size of each client bucket
+     * @param refillPerSecond the sustained request rate allowed per client
+     * @param maxClients      the number of client buckets kept before the least recently used is evicted
+     * @param apiKeys         the API keys clients may identify themselves with
+     */
+    public ClientQuotaInterceptor(
+            @Value("${employee.api.ingress.quota.capacity:20}") double capacity,
+            @Value("${employee.api.ingress.quota.refill-per-second:5}") double refillPerSecond,
+            @Value("${employee.api.ingress.quota.max-clients:10000}") int maxClients,
+            @Value("${employee.api.ingress.api-keys:}") Set<String> apiKeys) {
+        this.capacity = capacity;
+        this.refillPerSecond = refillPerSecond;
+        this.maxClients = maxClients;
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > ClientQuotaInterceptor.this.maxClients;
+            }
+        };
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientId = ClientIdentity.resolve(request, apiKeys);
+        long now = System.nanoTime();
+        TokenBucket bucket;
+        synchronized (buckets) {
+            bucket = buckets.computeIfAbsent(clientId, ignored -> new TokenBucket(capacity, refillPerSecond, now));
+        }
+        if (!bucket.tryConsume(now)) {
+            log.warn("Request quota exceeded for client {}", clientId);
+            throw new TooManyRequestsException("Request quota exceeded, slow down");
+        }
+        return true;
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exceptions.ServiceOverloadedException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Interceptor that sheds employee requests above the adaptive concurrency limit.
+ *
+ * <p>Rejected requests never reach the controller and are answered with a 503 by
+ * {@link com.reliaquest.api.controller.GlobalExceptionHandler}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limiter.tryAcquire()) {
+            log.warn(
+                    "Shedding request {} {}, concurrency limit {} reached",
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    limiter.getLimit());
+            throw new ServiceOverloadedException("Employee api is over capacity, try again later");
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
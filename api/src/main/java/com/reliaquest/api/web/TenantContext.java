@@ -0,0 +1,67 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.regex.Pattern;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Utility class for identifying the tenant whose roster an api request works on.
+ *
+ * <p>Tenants are named by the {@code X-Tenant-Id} header, which is forwarded to the external API.
+ * Requests without it work on the default tenant's roster, as a single-tenant deployment does.
+ */
+public final class TenantContext {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    /** Tenant of requests without a tenant header and of calls made outside of an ingress request. */
+    public static final String DEFAULT_TENANT = "default";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,63}");
+    private static final String TENANT_ATTRIBUTE = TenantContext.class.getName() + ".tenant";
+
+    private TenantContext() {}
+
+    /**
+     * Resolves the tenant of the given request and binds it to the request.
+     *
+     * @param request the incoming request
+     * @return the tenant id
+     * @throws InvalidInputException if the tenant header is not a valid tenant id
+     */
+    public static String resolve(HttpServletRequest request) {
+        String header = request.getHeader(TENANT_HEADER);
+        String tenant = header == null || header.isBlank() ? DEFAULT_TENANT : header.strip();
+        if (!TENANT_ID.matcher(tenant).matches()) {
+            throw new InvalidInputException("Invalid " + TENANT_HEADER + " header");
+        }
+        request.setAttribute(TENANT_ATTRIBUTE, tenant);
+        return tenant;
+    }
+
+    /**
+     * Returns the tenant bound to the current request.
+     *
+     * @return the tenant id, or {@link #DEFAULT_TENANT} outside of an ingress request
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null
+                && attributes.getAttribute(TENANT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                        instanceof String tenant) {
+            return tenant;
+        }
+        return DEFAULT_TENANT;
+    }
+
+    /**
+     * Tells whether the current request works on the default tenant's roster.
+     *
+     * @return true for the default tenant
+     */
+    public static boolean isDefault() {
+        return DEFAULT_TENANT.equals(current());
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.api.capture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.web.TenantContext;
+import com.reliaquest.capture.TrafficCaptureLog;
+import com.reliaquest.capture.TrafficCaptureLog.CapturedRequest;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for the traffic capture log and the interceptor writing it.
+ */
+class TrafficCaptureTest {
+
+    @TempDir
+    Path tempDir;
+
+    // Records read back as written; repeated methods, patterns and tenants are written once
+    @Test
+    void testLogRoundTrip() throws IOException {
+        CapturedRequest get = new CapturedRequest(0, "GET", "/{id}", "/4a3a170b", "", 200, 1_250);
+        CapturedRequest search = new CapturedRequest(
+                3_000_000_000L, "GET", "/search/{searchString}", "/search/J%C3%BCrgen", "emea", 200, 48_000);
+        CapturedRequest create = new CapturedRequest(3_000_000_001L, "POST", "/", "/", "emea", 503, 7);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int firstGetBytes;
+        int repeatedGetBytes;
+        try (TrafficCaptureLog.Writer writer = new TrafficCaptureLog.Writer(out, 1_700_000_000_000L)) {
+            writer.flush();
+            int headerBytes = out.size();
+            writer.write(get);
+            writer.flush();
+            firstGetBytes = out.size() - headerBytes;
+            writer.write(search);
+            writer.write(create);
+            writer.flush();
+            int beforeRepeat = out.size();
+            writer.write(get);
+            writer.flush();
+            repeatedGetBytes = out.size() - beforeRepeat;
+        }
+
+        byte[] bytes = out.toByteArray();
+        try (TrafficCaptureLog.Reader reader = new TrafficCaptureLog.Reader(new ByteArrayInputStream(bytes))) {
+            assertEquals(1_700_000_000_000L, reader.getStartEpochMillis());
+        }
+        assertEquals(List.of(get, search, create, get), readAll(bytes));
+        // Method, pattern and empty tenant each shrink to a one-byte reference
+        assertEquals(firstGetBytes - ("GET".length() + 1) - ("/{id}".length() + 1) - 1, repeatedGetBytes);
+    }
+
+    // A record cut short by an unclean shutdown ends the log instead of failing it
+    @Test
+    void testTruncatedRecordEndsLog() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (TrafficCaptureLog.Writer writer = new TrafficCaptureLog.Writer(out, 0)) {
+            writer.write(new CapturedRequest(10, "GET", "/", "/", "", 200, 100));
+            writer.write(new CapturedRequest(20, "DELETE", "/{id}", "/4a3a170b", "", 200, 100));
+        }
+        byte[] bytes = out.toByteArray();
+
+        assertEquals(1, readAll(Arrays.copyOf(bytes, bytes.length - 3)).size());
+    }
+
+    // Logs of another format are rejected up front
+    @Test
+    void testForeignFileRejected() {
+        assertThrows(IOException.class, () -> new TrafficCaptureLog.Reader(new ByteArrayInputStream(new byte[16])));
+    }
+
+    // Only employee controller requests are captured, with their route, tenant, status and timing
+    @Test
+    void testInterceptorCapturesEmployeeRequests() throws Exception {
+        Path file = tempDir.resolve("capture/traffic.rqtc");
+        TrafficCaptureInterceptor interceptor = new TrafficCaptureInterceptor(file, 16, 100);
+        HandlerMethod getById = new HandlerMethod(
+                new EmployeeController(null, null, null, null),
+                EmployeeController.class.getMethod("getEmployeeById", String.class));
+        HandlerMethod other = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/4a3a170b");
+        request.setQueryString("verbose=true");
+        request.addHeader(TenantContext.TENANT_HEADER, "emea");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+        assertTrue(interceptor.preHandle(request, response, getById));
+        interceptor.afterCompletion(request, response, getById, null);
+        MockHttpServletRequest otherRequest = new MockHttpServletRequest("POST", "/batch");
+        assertTrue(interceptor.preHandle(otherRequest, new MockHttpServletResponse(), other));
+        interceptor.afterCompletion(otherRequest, new MockHttpServletResponse(), other, null);
+        interceptor.close();
+
+        List<CapturedRequest> records = readAll(Files.readAllBytes(file));
+        assertEquals(1, records.size());
+        CapturedRequest record = records.get(0);
+        assertEquals("GET", record.method());
+        assertEquals("/{id}", record.pattern());
+        assertEquals("/4a3a170b?verbose=true", record.path());
+        assertEquals("emea", record.tenant());
+        assertEquals(404, record.status());
+        assertTrue(record.durationMicros() >= 0);
+        assertEquals(0, interceptor.getDropped());
+    }
+
+    private static List<CapturedRequest> readAll(byte[] bytes) throws IOException {
+        List<CapturedRequest> records = new ArrayList<>();
+        try (TrafficCaptureLog.Reader reader = new TrafficCaptureLog.Reader(new ByteArrayInputStream(bytes))) {
+            for (CapturedRequest record = reader.read(); record != null; record = reader.read()) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+/**
+ * Unit tests for the meters recorded while decoding upstream responses.
+ */
+class MeteredJsonDecoderTest {
+
+    private static final String BODY = "{\"data\":[{\"id\":\"1\",\"employee_name\":\"Jane\"}],\"status\":\"ok\"}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MeteredJsonDecoder decoder = new MeteredJsonDecoder(new ObjectMapper(), meterRegistry);
+
+    // Repeated decodes of a type record into the same meters, tagged with the short type name
+    @Test
+    void testDecodesRecordedPerType() {
+        ResolvableType type = ResolvableType.forClassWithGenerics(
+                ApiResponse.class, ResolvableType.forClassWithGenerics(List.class, Employee.class));
+
+        decode(type);
+        Object decoded = decode(type);
+
+        assertInstanceOf(ApiResponse.class, decoded);
+        String tag = "ApiResponse<List<Employee>>";
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("employee.upstream.decode")
+                        .tag("type", tag)
+                        .timer()
+                        .count());
+        assertEquals(
+                2L * BODY.length(),
+                meterRegistry
+                        .get("employee.upstream.response.size")
+                        .tag("type", tag)
+                        .summary()
+                        .totalAmount());
+    }
+
+    private Object decode(ResolvableType type) {
+        return decoder.decode(
+                DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8)),
+                type,
+                MediaType.APPLICATION_JSON,
+                null);
+    }
+}
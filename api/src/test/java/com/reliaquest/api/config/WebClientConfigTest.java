@@ -0,0 +1,76 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * Unit tests for the HTTP client the employee API is called with.
+ */
+class WebClientConfigTest {
+
+    private static final int CALLS = 20;
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockWebServer();
+        server.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.start();
+    }
+
+    @AfterEach
+    void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    // Concurrent calls over h2c share a single connection as separate streams
+    @Test
+    void testH2cMultiplexesConcurrentCallsOverOneConnection() throws Exception {
+        for (int i = 0; i < CALLS; i++) {
+            server.enqueue(new MockResponse().setBody("ok").setBodyDelay(100, TimeUnit.MILLISECONDS));
+        }
+        WebClient client = WebClient.builder()
+                .baseUrl(server.url("/api/v1/employee").toString())
+                .clientConnector(
+                        new ReactorClientHttpConnector(WebClientConfig.httpClient(WebClientConfig.H2C, 1, 100, 100)))
+                .build();
+
+        List<String> bodies = Flux.range(0, CALLS)
+                .flatMap(i -> client.get().uri("/{id}", i).retrieve().bodyToMono(String.class), CALLS)
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        assertEquals(CALLS, bodies.size());
+        assertTrue(bodies.stream().allMatch("ok"::equals));
+        // Sequence numbers count requests per connection, so one connection numbers them 0..CALLS-1
+        Set<Integer> sequenceNumbers = new HashSet<>();
+        for (int i = 0; i < CALLS; i++) {
+            sequenceNumbers.add(server.takeRequest(5, TimeUnit.SECONDS).getSequenceNumber());
+        }
+        assertEquals(IntStream.range(0, CALLS).boxed().collect(Collectors.toSet()), sequenceNumbers);
+    }
+
+    // Misconfigured protocols fail at startup rather than on the first call
+    @Test
+    void testUnknownProtocolRejected() {
+        assertThrows(IllegalArgumentException.class, () -> WebClientConfig.httpClient("spdy", 1, 100, 100));
+    }
+}
@@ -150,25 +150,13 @@ class EmployeeControllerIT {
     // Test deleting an employee by ID
     @Test
     void testDeleteEmployeeById() {
-        String getResponseBody =
+        String deleteResponseBody =
                 """
                     {
                       "status": "SUCCESS",
                       "data": { "id": "3683dab9-7432-4e24-941b-6b466d8f54e1", "employee_name": "John", "employee_salary": 5000, "employee_age": 30, "employee_title": "Developer", "employee_email": "john@example.com" }
                     }
                      """;
-        String deleteResponseBody =
-                """
-                    {
-                      "status": "SUCCESS",
-                      "data": true
-                    }
-                    """;
-        baseServiceMock.enqueue(new MockResponse()
-                .setBody(getResponseBody)
-                .addHeader("Content-Type", "application/json")
-                .setResponseCode(200));
-
         baseServiceMock.enqueue(new MockResponse()
                 .setBody(deleteResponseBody)
                 .addHeader("Content-Type", "application/json")
@@ -194,14 +182,7 @@ class EmployeeControllerIT {
     void testGetHighestSalary() {
         String responseBody =
                 """
-                    {
-                      "status": "SUCCESS",
-                      "data": [
-                        { "id": "3683dab9-7432-4e24-941b-6b466d8f54e1", "employee_name": "John", "employee_salary": 5000, "employee_age": 30, "employee_title": "Developer", "employee_email": "john@example.com" },
-                        { "id": "3683dab9-7432-4e24-941b-6b466d8f54e2", "employee_name": "Jane", "employee_salary": 8000, "employee_age": 35, "employee_title": "Manager", "employee_email": "jane@example.com" },
-                        { "id": "3683dab9-7432-4e24-941b-6b466d8f54e3", "employee_name": "Ray", "employee_salary": 10000, "employee_age": 25, "employee_title": "Tester", "employee_email": "ray@example.com" }
-                      ]
-                    }
+                    { "status": "SUCCESS", "data": 10000 }
                     """;
 
         baseServiceMock.enqueue(new MockResponse().setBody(responseBody).addHeader("Content-Type", "application/json"));
@@ -360,4 +341,44 @@ class EmployeeControllerIT {
                 .jsonPath("$.error")
                 .isEqualTo("Upstream employee service api unavailable");
     }
+
+    // Batch lookup: one upstream call, results mapped back to request order
+    @Test
+    void testGetEmployeesBatch() {
+        String responseBody =
+                """
+                    {
+                      "status": "SUCCESS",
+                      "data": [
+                        { "index": 0, "status": 200, "data": { "id": "3683dab9-7432-4e24-941b-6b466d8f54e1", "employee_name": "John", "employee_salary": 5000, "employee_age": 30, "employee_title": "Developer", "employee_email": "john@example.com" } },
+                        { "index": 1, "status": 404 }
+                      ]
+                    }
+                    """;
+        baseServiceMock.enqueue(new MockResponse().setBody(responseBody).addHeader("Content-Type", "application/json"));
+
+        webTestClient
+                .post()
+                .uri("/batch/get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        ["3683dab9-7432-4e24-941b-6b466d8f54e1", "not-a-uuid", "3683dab9-7432-4e24-941b-6b466d8f54e2"]
+                        """)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo("SUCCESS")
+                .jsonPath("$.data.length()")
+                .isEqualTo(3)
+                .jsonPath("$.data[0].data.name")
+                .isEqualTo("John")
+                .jsonPath("$.data[1].status")
+                .isEqualTo(400)
+                .jsonPath("$.data[2].index")
+                .isEqualTo(2)
+                .jsonPath("$.data[2].status")
+                .isEqualTo(404);
+    }
 }
@@ -1,5 +1,9 @@
 package com.reliaquest.api.controller;
 
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.reliaquest.api.exceptions.EmployeeNotFoundException;
@@ -246,7 +250,7 @@ class EmployeeControllerTest {
                 .salary(40000)
                 .title("Developer")
                 .build();
-        when(employeeService.createEmployee(input)).thenReturn(created);
+        when(employeeService.createEmployee(eq(input), anyString())).thenReturn(created);
         webTestClient
                 .post()
                 .uri("/")
@@ -270,6 +274,77 @@ class EmployeeControllerTest {
                 .isEqualTo(created.getAge());
     }
 
+    // Test that a replayed Idempotency-Key returns the original employee without a second create
+    @Test
+    void testCreateEmployee_IdempotentReplay() {
+        EmployeeDto input = EmployeeDto.builder()
+                .name("Alice")
+                .age(28)
+                .salary(40000)
+                .title("Developer")
+                .build();
+        Employee created = Employee.builder()
+                .id("3")
+                .name("Alice")
+                .age(28)
+                .salary(40000)
+                .title("Developer")
+                .build();
+        when(employeeService.createEmployee(eq(input), anyString())).thenReturn(created);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient
+                    .post()
+                    .uri("/")
+                    .header("Idempotency-Key", "create-alice-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(input)
+                    .exchange()
+                    .expectStatus()
+                    .isOk()
+                    .expectBody()
+                    .jsonPath("$.data.id")
+                    .isEqualTo(created.getId());
+        }
+        verify(employeeService, times(1)).createEmployee(eq(input), anyString());
+    }
+
+    // Test that reusing an Idempotency-Key for a different request is rejected
+    @Test
+    void testCreateEmployee_IdempotencyKeyReuse() {
+        EmployeeDto first = EmployeeDto.builder()
+                .name("Alice")
+                .age(28)
+                .salary(40000)
+                .title("Developer")
+                .build();
+        EmployeeDto second = EmployeeDto.builder()
+                .name("Bob")
+                .age(28)
+                .salary(40000)
+                .title("Developer")
+                .build();
+        when(employeeService.createEmployee(eq(first), anyString()))
+                .thenReturn(Employee.builder().id("3").name("Alice").build());
+        webTestClient
+                .post()
+                .uri("/")
+                .header("Idempotency-Key", "create-reuse-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(first)
+                .exchange()
+                .expectStatus()
+                .isOk();
+        webTestClient
+                .post()
+                .uri("/")
+                .header("Idempotency-Key", "create-reuse-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(second)
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
     @Test
     void testCreateEmployee_Validation() throws Exception {
         EmployeeDto input =
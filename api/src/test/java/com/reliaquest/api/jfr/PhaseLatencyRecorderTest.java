@@ -0,0 +1,76 @@
+package com.reliaquest.api.jfr;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the JFR phase events and their in-process summaries.
+ */
+class PhaseLatencyRecorderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PhaseLatencyRecorder recorder =
+            new PhaseLatencyRecorder(meterRegistry, Duration.ofSeconds(30), Duration.ZERO);
+
+    @AfterEach
+    void tearDown() {
+        recorder.close();
+    }
+
+    // Committed phase events end up in the timer of their phase
+    @Test
+    void testPhaseEventsSummarizedPerPhase() throws Exception {
+        PhaseEvent event = PhaseEvent.start(PhaseEvent.DECODE, "ApiResponse<Employee>");
+        Thread.sleep(5);
+        event.commit();
+        PhaseEvent.start(PhaseEvent.VALIDATE, "id").commit();
+
+        Timer decode = awaitTimer(PhaseEvent.DECODE);
+        assertEquals(1, decode.count());
+        assertTrue(decode.totalTime(TimeUnit.MILLISECONDS) >= 5);
+        assertEquals(1, awaitTimer(PhaseEvent.VALIDATE).count());
+    }
+
+    // Phases shorter than the threshold are not recorded
+    @Test
+    void testPhasesBelowThresholdDropped() throws Exception {
+        recorder.close();
+        recorder = new PhaseLatencyRecorder(meterRegistry, Duration.ofSeconds(30), Duration.ofMillis(20));
+
+        PhaseEvent.start(PhaseEvent.VALIDATE, "id").commit();
+        PhaseEvent slow = PhaseEvent.start(PhaseEvent.DECODE, "ApiResponse<Employee>");
+        Thread.sleep(40);
+        slow.commit();
+
+        assertEquals(1, awaitTimer(PhaseEvent.DECODE).count());
+        assertNull(meterRegistry.find("employee.phase").tag("phase", PhaseEvent.VALIDATE).timer());
+    }
+
+    // Retry backoffs are summarized by the sleep they announce
+    @Test
+    void testRetryBackoffSummarizedBySleep() throws Exception {
+        RetryBackoffEvent.emit("employeeApiRetry", 1, new IllegalStateException(), 2000);
+
+        Timer backoff = awaitTimer(RetryBackoffEvent.PHASE);
+        assertEquals(2000, backoff.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    // Events are streamed in batches, about once per second
+    private Timer awaitTimer(String phase) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Timer timer = meterRegistry.find("employee.phase").tag("phase", phase).timer();
+            if (timer != null && timer.count() > 0) {
+                return timer;
+            }
+            Thread.sleep(50);
+        }
+        return fail("No " + phase + " events streamed");
+    }
+}
@@ -0,0 +1,200 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exceptions.ExternalServiceException;
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.util.InputValidator;
+import jakarta.validation.Validation;
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+/**
+ * Unit tests for EmployeeBatchService chunking, local validation and per-item failure handling.
+ */
+class EmployeeBatchServiceTest {
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+
+    private EmployeeBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        InputValidator validator =
+                new InputValidator(Validation.buildDefaultValidatorFactory().getValidator());
+        IdempotencyStore idempotencyStore = new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofSeconds(1));
+        batchService = new EmployeeBatchService(employeeService, validator, idempotencyStore, 2, 10);
+    }
+
+    // Five IDs with a chunk size of two take three upstream calls; results keep request order
+    @Test
+    void testGetEmployees_SendsChunks() {
+        when(employeeService.getEmployeesByIds(anyList())).thenAnswer(invocation -> found(invocation.getArgument(0)));
+        List<String> ids = randomIds(5);
+
+        List<BatchItemResult<Employee>> results = batchService.getEmployees(ids);
+
+        verify(employeeService, times(3)).getEmployeesByIds(anyList());
+        assertEquals(5, results.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(200, results.get(i).getStatus());
+            assertEquals(ids.get(i), results.get(i).getData().getId());
+        }
+    }
+
+    // Invalid items are answered locally and never sent upstream
+    @Test
+    void testGetEmployees_InvalidItemsAnsweredLocally() {
+        when(employeeService.getEmployeesByIds(anyList())).thenAnswer(invocation -> found(invocation.getArgument(0)));
+        String valid = UUID.randomUUID().toString();
+
+        List<BatchItemResult<Employee>> results = batchService.getEmployees(List.of("not-a-uuid", valid));
+
+        verify(employeeService).getEmployeesByIds(List.of(valid));
+        assertEquals(400, results.get(0).getStatus());
+        assertNotNull(results.get(0).getError());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(valid, results.get(1).getData().getId());
+    }
+
+    // A chunk failing after retries fails only its own items
+    @Test
+    void testDeleteEmployees_FailedChunkFailsOnlyItsItems() {
+        List<String> ids = randomIds(3);
+        when(employeeService.deleteEmployeesByIds(anyList()))
+                .thenThrow(new ExternalServiceException("Upstream employee service api unavailable", null))
+                .thenAnswer(invocation -> found(invocation.getArgument(0)));
+
+        List<BatchItemResult<String>> results = batchService.deleteEmployees(ids);
+
+        assertEquals(502, results.get(0).getStatus());
+        assertEquals(502, results.get(1).getStatus());
+        assertEquals(200, results.get(2).getStatus());
+        assertEquals("Employee " + ids.get(2), results.get(2).getData());
+    }
+
+    // Each chunk of a create batch carries its own key, derived from the batch key and its position
+    @Test
+    void testCreateEmployees_KeysEachChunk() {
+        when(employeeService.createEmployees(anyList(), anyString())).thenReturn(List.of());
+        List<EmployeeDto> requests = createRequests(3);
+
+        List<BatchItemResult<Employee>> results = batchService.createEmployees(requests, "batch");
+
+        verify(employeeService).createEmployees(eq(requests.subList(0, 2)), eq("batch:0"));
+        verify(employeeService).createEmployees(eq(requests.subList(2, 3)), eq("batch:1"));
+        // An upstream answer missing items leaves them reported as failed rather than dropped
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == 502));
+    }
+
+    // A replayed keyed batch answers with the original results without going upstream again
+    @Test
+    void testCreateEmployees_ReplaysKeyedBatch() {
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+        List<EmployeeDto> requests = createRequests(3);
+
+        List<BatchItemResult<Employee>> first = batchService.createEmployees(requests, "batch");
+        List<BatchItemResult<Employee>> replay = batchService.createEmployees(createRequests(3), "batch");
+
+        assertSame(first, replay);
+        verify(employeeService, times(2)).createEmployees(anyList(), anyString());
+        assertThrows(InvalidInputException.class, () -> batchService.createEmployees(createRequests(2), "batch"));
+    }
+
+    // A keyed batch with retryable failures is not remembered, so its retry goes upstream again
+    @Test
+    void testCreateEmployees_RetriesBatchWithFailedChunks() {
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenThrow(new ExternalServiceException("Upstream failed", null))
+                .thenAnswer(invocation -> created(invocation.getArgument(0)));
+        List<EmployeeDto> requests = createRequests(2);
+
+        assertEquals(502, batchService.createEmployees(requests, "batch").get(0).getStatus());
+        assertEquals(200, batchService.createEmployees(requests, "batch").get(0).getStatus());
+
+        verify(employeeService, times(2)).createEmployees(eq(requests), eq("batch:0"));
+    }
+
+    // Failing to reach the external API at all is a gateway failure, not an internal error
+    @Test
+    void testCreateEmployees_UnreachableUpstreamIsBadGateway() {
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenThrow(new WebClientRequestException(
+                        new ConnectException("Connection refused"),
+                        HttpMethod.POST,
+                        URI.create("http://localhost:8112/api/v1/employee/batch"),
+                        HttpHeaders.EMPTY));
+
+        List<BatchItemResult<Employee>> results = batchService.createEmployees(createRequests(1), null);
+
+        assertEquals(502, results.get(0).getStatus());
+    }
+
+    @Test
+    void testBatchTooLarge() {
+        assertThrows(InvalidInputException.class, () -> batchService.getEmployees(randomIds(11)));
+        assertThrows(InvalidInputException.class, () -> batchService.getEmployees(List.of()));
+        verifyNoInteractions(employeeService);
+    }
+
+    private static List<String> randomIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+
+    private static List<EmployeeDto> createRequests(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> EmployeeDto.builder()
+                        .name("Employee " + i)
+                        .salary(1000)
+                        .age(30)
+                        .title("Engineer")
+                        .build())
+                .toList();
+    }
+
+    private static List<BatchItemResult<Employee>> created(List<EmployeeDto> requests) {
+        return IntStream.range(0, requests.size())
+                .mapToObj(i -> new BatchItemResult<>(
+                        i,
+                        200,
+                        Employee.builder()
+                                .id(UUID.randomUUID().toString())
+                                .name(requests.get(i).getName())
+                                .build(),
+                        null))
+                .toList();
+    }
+
+    private static List<BatchItemResult<Employee>> found(List<String> ids) {
+        return IntStream.range(0, ids.size())
+                .mapToObj(i -> new BatchItemResult<>(
+                        i,
+                        200,
+                        Employee.builder().id(ids.get(i)).name("Employee " + ids.get(i)).build(),
+                        null))
+                .toList();
+    }
+}
@@ -3,13 +3,18 @@ package com.reliaquest.api.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.exceptions.EmployeeNotFoundException;
 import com.reliaquest.api.exceptions.ExternalServiceException;
 import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDto;
 import com.reliaquest.api.util.WebClientErrorHandler;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import java.util.Collections;
 import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +44,9 @@ class EmployeeServiceTest {
     @MockBean
     private WebClientErrorHandler errorHandler;
 
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     private Employee sampleEmployee;
 
     private final WebClient.RequestHeadersUriSpec requestHeadersUriSpec = mock(WebClient.RequestHeadersUriSpec.class);
@@ -56,6 +64,11 @@ class EmployeeServiceTest {
                 .build();
     }
 
+    @AfterEach
+    void closeCircuit() {
+        circuitBreakerRegistry.circuitBreaker("employeeApi").reset();
+    }
+
     // Helper to mock WebClient GET calls returning ApiResponse
     @SuppressWarnings({"rawtypes", "unchecked"})
     private <T> void mockWebClientGet(T body) {
@@ -69,20 +82,22 @@ class EmployeeServiceTest {
                 .thenReturn(Mono.just(new ApiResponse<>(body)));
     }
 
-    // Helper to mock WebClient DELETE calls returning Void
+    // Helper to mock WebClient DELETE calls by ID returning ApiResponse
     @SuppressWarnings({"rawtypes", "unchecked"})
-    private void mockWebClientDelete() {
-        // Cast to RequestBodyUriSpec for bodyValue()
+    private <T> void mockWebClientDelete(T body) {
+        // Cast to RequestBodyUriSpec for method()
         when(employeeApiClient.method(any(HttpMethod.class))).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(Void.class)).thenReturn(Mono.empty());
+        when(requestBodyUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenReturn(Mono.just(new ApiResponse<>(body)));
     }
 
     // Helper to mock WebClient POST calls returning ApiResponse
     @SuppressWarnings({"rawtypes", "unchecked"})
     private <T> void mockWebClientPost(T body) {
         when(employeeApiClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.header(anyString(), any(String[].class))).thenReturn(requestBodyUriSpec);
         when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
@@ -109,11 +124,10 @@ class EmployeeServiceTest {
     // Test getting highest salary
     @Test
     void testGetHighestSalary() {
-        mockWebClientGet(List.of(
-                sampleEmployee,
-                Employee.builder().id("2").name("Jane").salary(60000).age(28).build()));
+        mockWebClientGet(60000);
         Integer highest = employeeService.getHighestSalary();
         assertEquals(60000, highest);
+        verify(requestHeadersUriSpec).uri("/aggregates/highest-salary");
     }
 
     // Test getting top ten highest earning employee names
@@ -125,6 +139,7 @@ class EmployeeServiceTest {
                 Employee.builder().id("3").name("Bob").salary(55000).age(25).build()));
         List<String> topEarners = employeeService.getTopTenHighestEarningEmployeeNames();
         assertEquals(List.of("Jane", "Bob", "John Doe"), topEarners);
+        verify(requestHeadersUriSpec).uri("/aggregates/top-earners?limit={limit}", 10);
     }
 
     // Test creating a new employee
@@ -132,7 +147,7 @@ class EmployeeServiceTest {
     void testCreateEmployee() {
         mockWebClientPost(
                 Employee.builder().id("4").name("Alice").salary(45000).age(27).build());
-        Employee emp = employeeService.createEmployee(new EmployeeDto("1", "Alice", 45000, 27, null, null));
+        Employee emp = employeeService.createEmployee(new EmployeeDto("1", "Alice", 45000, 27, null, null), "key-1");
         assertEquals("Alice", emp.getName());
     }
 
@@ -141,6 +156,7 @@ class EmployeeServiceTest {
     void testCreateEmployee_Failure() {
         // simulate WebClient POST failure
         when(employeeApiClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.header(anyString(), any(String[].class))).thenReturn(requestBodyUriSpec);
         when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
 
@@ -154,7 +170,7 @@ class EmployeeServiceTest {
 
         ExternalServiceException ex = assertThrows(
                 ExternalServiceException.class,
-                () -> employeeService.createEmployee(new EmployeeDto("1", "Alice", 45000, 27, null, null)));
+                () -> employeeService.createEmployee(new EmployeeDto("1", "Alice", 45000, 27, null, null), "key-1"));
 
         assertEquals("Create failed", ex.getMessage());
 
@@ -165,23 +181,23 @@ class EmployeeServiceTest {
     // Test deleting an employee by ID
     @Test
     void testDeleteEmployeeById() {
-        mockWebClientGet(sampleEmployee);
-        mockWebClientDelete();
+        mockWebClientDelete(sampleEmployee);
         String name = employeeService.deleteEmployeeById("1");
         assertEquals("John Doe", name);
+
+        // one call to the ID endpoint, no lookup first
+        verify(requestBodyUriSpec).uri("/{id}", "1");
+        verify(employeeApiClient, never()).get();
     }
 
     // Test deleting an employee by ID failure
     @Test
+    @SuppressWarnings("unchecked")
     void testDeleteEmployeeById_Failure() {
-        //  successful lookup first
-        mockWebClientGet(sampleEmployee);
-
-        // simulate delete failure
         when(employeeApiClient.method(any(HttpMethod.class))).thenReturn(requestBodyUriSpec);
-        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
-        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.bodyToMono(Void.class))
+        when(requestBodyUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
                 .thenThrow(new WebClientResponseException(500, "Delete failed", null, null, null));
 
         when(errorHandler.handleException(any(WebClientResponseException.class)))
@@ -196,6 +212,59 @@ class EmployeeServiceTest {
         verify(errorHandler, atLeastOnce()).handleException(any(WebClientResponseException.class));
     }
 
+    // An answer without an employee is a missing employee, not a server error
+    @Test
+    void testDeleteEmployeeById_NoData() {
+        mockWebClientDelete(null);
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployeeById("1"));
+    }
+
+    // The lookup of the delete-by-name fallback finding nothing deletes nothing
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteEmployeeById_FallbackLookupNoData() {
+        when(employeeApiClient.method(any(HttpMethod.class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(employeeApiClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenThrow(new WebClientResponseException(405, "Method Not Allowed", null, null, null))
+                .thenReturn(Mono.just(new ApiResponse<>((Employee) null)));
+
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.deleteEmployeeById("1"));
+        verify(requestBodyUriSpec, never()).bodyValue(any());
+    }
+
+    // Test deleting by ID against an external API that only deletes by name
+    @Test
+    @SuppressWarnings("unchecked")
+    void testDeleteEmployeeById_FallsBackToDeleteByName() {
+        when(employeeApiClient.method(any(HttpMethod.class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(Void.class)).thenReturn(Mono.empty());
+
+        when(employeeApiClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.retrieve()).thenReturn(responseSpec);
+
+        // the ID endpoint answers 405, the lookup then finds the employee
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenThrow(new WebClientResponseException(405, "Method Not Allowed", null, null, null))
+                .thenReturn(Mono.just(new ApiResponse<>(sampleEmployee)));
+
+        String name = employeeService.deleteEmployeeById("1");
+
+        assertEquals("John Doe", name);
+        verify(requestBodyUriSpec).bodyValue(EmployeeDto.builder().name("John Doe").build());
+        verify(errorHandler, never()).handleException(any());
+    }
+
     // Test retry logic on getAllEmployees
     @Test
     void testGetAllEmployees_RetryOnFailure() {
@@ -254,4 +323,71 @@ class EmployeeServiceTest {
         List<Employee> result = employeeService.searchEmployeesByName("XYZ");
         assertTrue(result.isEmpty());
     }
+
+    // Search is pushed down to the upstream, and only matching employees are returned
+    @Test
+    void testSearchEmployeesByName_PushesFilterUpstream() {
+        mockWebClientGet(List.of(
+                sampleEmployee,
+                Employee.builder().id("2").name("Jane").salary(60000).age(28).build()));
+        List<Employee> result = employeeService.searchEmployeesByName("john");
+        assertEquals(1, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+        verify(requestHeadersUriSpec).uri("?nameContains={name}", "john");
+    }
+
+    // A batch create is one upstream call carrying the batch idempotency key
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void testCreateEmployees_SendsOneUpstreamBatch() {
+        when(employeeApiClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri(anyString(), any(Object[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.header(anyString(), any(String[].class))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenReturn(Mono.just(new ApiResponse<>(List.of(new BatchItemResult<>(0, 200, sampleEmployee, null)))));
+        EmployeeDto request = EmployeeDto.builder()
+                .name("John Doe")
+                .salary(50000)
+                .age(30)
+                .title("Engineer")
+                .build();
+
+        List<BatchItemResult<Employee>> results = employeeService.createEmployees(List.of(request), "batch:0");
+
+        assertEquals(1, results.size());
+        assertEquals("John Doe", results.get(0).getData().getName());
+        verify(requestBodyUriSpec).uri("/batch");
+        verify(requestBodyUriSpec).header("Idempotency-Key", "batch:0");
+        verify(requestBodyUriSpec).bodyValue(List.of(request));
+    }
+
+    // Open circuit: reads are served from the last fetched roster without an upstream call
+    @Test
+    void testGetAllEmployees_CircuitOpenServesSnapshot() {
+        mockWebClientGet(List.of(sampleEmployee));
+        employeeService.getAllEmployees();
+
+        circuitBreakerRegistry.circuitBreaker("employeeApi").transitionToForcedOpenState();
+        List<Employee> employees = employeeService.getAllEmployees();
+        Integer highest = employeeService.getHighestSalary();
+
+        assertEquals(1, employees.size());
+        assertEquals("John Doe", employees.get(0).getName());
+        assertEquals(50000, highest);
+        verify(responseSpec, times(1)).bodyToMono(any(ParameterizedTypeReference.class));
+    }
+
+    // Open circuit: writes fail fast without an upstream call
+    @Test
+    void testCreateEmployee_CircuitOpenFailsFast() {
+        circuitBreakerRegistry.circuitBreaker("employeeApi").transitionToForcedOpenState();
+
+        assertThrows(
+                CallNotPermittedException.class,
+                () -> employeeService.createEmployee(new EmployeeDto("1", "Alice", 45000, 27, null, null), "key-1"));
+
+        verify(employeeApiClient, never()).post();
+    }
 }
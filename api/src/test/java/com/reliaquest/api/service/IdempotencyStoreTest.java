@@ -0,0 +1,78 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.exceptions.RequestInProgressException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for IdempotencyStore replays, fingerprint checks and waits on in-flight requests.
+ */
+class IdempotencyStoreTest {
+
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofHours(1), 100, Duration.ofMillis(100));
+
+    @Test
+    void testExecute_ReplaysCompletedResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String first = store.execute("key", "request", () -> "result-" + calls.incrementAndGet());
+        String replayed = store.execute("key", "request", () -> "result-" + calls.incrementAndGet());
+
+        assertEquals("result-1", first);
+        assertEquals("result-1", replayed);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testExecute_RejectsDifferentRequest() {
+        store.execute("key", "request", () -> "result");
+
+        assertThrows(InvalidInputException.class, () -> store.execute("key", "other", () -> "other"));
+    }
+
+    @Test
+    void testExecute_ForgetsFailures() {
+        assertThrows(IllegalStateException.class, () -> store.execute("key", "request", () -> {
+            throw new IllegalStateException("failed");
+        }));
+
+        assertEquals("retried", store.execute("key", "request", () -> "retried"));
+    }
+
+    // A replay gives up on an original still in flight after the replay wait, without executing again
+    @Test
+    void testExecute_ReplayWhileInProgressTimesOut() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> original = CompletableFuture.supplyAsync(() -> store.execute("key", "request", () -> {
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(
+                RequestInProgressException.class,
+                () -> store.execute("key", "request", () -> fail("executed twice")));
+
+        release.countDown();
+        assertEquals("result", original.get(5, TimeUnit.SECONDS));
+        assertEquals("result", store.execute("key", "request", () -> fail("executed twice")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exceptions.ClientQueueFullException;
+import com.reliaquest.api.exceptions.ServiceOverloadedException;
+import com.reliaquest.api.model.Employee;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Tests of how EmployeeService calls are admitted by a mocked upstream scheduler: the priority each
+ * call asks for, and local backpressure that is neither retried nor counted as an upstream failure
+ * by the circuit breaker.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UpstreamAdmissionTest {
+
+    private static final String ID = "95f2e8a4-49e9-4e21-b1e2-10075394e1bb";
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private RetryRegistry retryRegistry;
+
+    @MockBean
+    private UpstreamCallScheduler upstreamScheduler;
+
+    private CircuitBreaker breaker;
+    private Retry retry;
+
+    @BeforeEach
+    void setUp() {
+        breaker = circuitBreakerRegistry.circuitBreaker("employeeApi");
+        breaker.reset();
+        retry = retryRegistry.retry(UpstreamMetrics.RETRY_INSTANCE);
+    }
+
+    // A full client queue is answered once, without retries and without touching the breaker
+    @Test
+    void testClientQueueOverflowNeitherRetriedNorRecorded() {
+        when(upstreamScheduler.call(any(), any())).thenThrow(new ClientQueueFullException("queue full"));
+        long retriedBefore = retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt();
+
+        assertThrows(ClientQueueFullException.class, () -> employeeService.getEmployeeById(ID));
+
+        verify(upstreamScheduler, times(1)).call(any(), any());
+        assertEquals(retriedBefore, retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt());
+        assertEquals(0, breaker.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    // Deleting by name looks the employee up at write priority, not behind interactive reads
+    @Test
+    void testDeleteByNameLookupAdmittedAsWrite() {
+        Employee employee = Employee.builder().id(ID).name("John Doe").build();
+        when(upstreamScheduler.call(any(), any()))
+                .thenThrow(WebClientResponseException.create(405, "Method Not Allowed", null, null, null))
+                .thenReturn(employee)
+                .thenReturn(null);
+
+        assertEquals("John Doe", employeeService.deleteEmployeeById(ID));
+
+        verify(upstreamScheduler, times(3)).call(eq(UpstreamPriority.WRITE), any());
+        verify(upstreamScheduler, never()).call(eq(UpstreamPriority.INTERACTIVE_READ), any());
+    }
+
+    // Timing out in the local queue is likewise not an upstream failure
+    @Test
+    void testQueueTimeoutNeitherRetriedNorRecorded() {
+        when(upstreamScheduler.call(any(), any())).thenThrow(new ServiceOverloadedException("saturated"));
+        long retriedBefore = retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt();
+
+        assertThrows(ServiceOverloadedException.class, () -> employeeService.getEmployeeById(ID));
+
+        verify(upstreamScheduler, times(1)).call(any(), any());
+        assertEquals(retriedBefore, retry.getMetrics().getNumberOfFailedCallsWithRetryAttempt());
+        assertEquals(0, breaker.getMetrics().getNumberOfBufferedCalls());
+    }
+}
@@ -0,0 +1,197 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.ClientQueueFullException;
+import com.reliaquest.api.exceptions.ServiceOverloadedException;
+import com.reliaquest.api.web.ClientIdentity;
+import com.reliaquest.api.web.TenantContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for UpstreamCallScheduler admission order, per-client fairness and budget reserves.
+ */
+class UpstreamCallSchedulerTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // Queued writes are granted before reads that were queued earlier
+    @Test
+    void testWritesAdmittedBeforeQueuedReads() throws Exception {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(1, 10, 5000, Map.of(), 0, 10, 1, 3, 100);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHold = new CountDownLatch(1);
+        List<UpstreamPriority> order = Collections.synchronizedList(new ArrayList<>());
+
+        Future<?> holder = executor.submit(() -> scheduler.call(UpstreamPriority.WRITE, () -> {
+            holding.countDown();
+            return awaitQuietly(releaseHold);
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+
+        Future<?> read = executor.submit(() ->
+                scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> order.add(UpstreamPriority.INTERACTIVE_READ)));
+        awaitWaiting(scheduler, 1);
+        Future<?> write =
+                executor.submit(() -> scheduler.call(UpstreamPriority.WRITE, () -> order.add(UpstreamPriority.WRITE)));
+        awaitWaiting(scheduler, 2);
+
+        releaseHold.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        read.get(5, TimeUnit.SECONDS);
+        write.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(UpstreamPriority.WRITE, UpstreamPriority.INTERACTIVE_READ), order);
+    }
+
+    // Background work is dropped once the budget is down to the reserve kept for user-facing calls
+    @Test
+    void testBackgroundDroppedWhenBudgetTight() {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(4, 10, 100, Map.of(), 0.001, 4, 1, 3, 100);
+
+        assertEquals(Optional.of("refreshed"), scheduler.tryCall(UpstreamPriority.BACKGROUND, () -> "refreshed"));
+        assertEquals(Optional.empty(), scheduler.tryCall(UpstreamPriority.BACKGROUND, () -> "refreshed"));
+        assertEquals("read", scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> "read"));
+        assertEquals("write", scheduler.call(UpstreamPriority.WRITE, () -> "write"));
+        assertThrows(ServiceOverloadedException.class, () -> {
+            scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> "read");
+        });
+    }
+
+    // Waiting clients are served in turn, so one client's backlog does not starve another
+    @Test
+    void testClientsServedRoundRobin() throws Exception {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(1, 10, 5000, Map.of(), 0, 10, 1, 3, 100);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHold = new CountDownLatch(1);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        Future<?> holder = submitAs("holder", () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> {
+            holding.countDown();
+            return awaitQuietly(releaseHold);
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        List<Future<?>> calls = new ArrayList<>();
+        for (String client : List.of("busy", "busy", "busy", "quiet")) {
+            calls.add(submitAs(
+                    client, () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> order.add(client))));
+            awaitWaiting(scheduler, calls.size());
+        }
+
+        releaseHold.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        for (Future<?> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("busy", "quiet", "busy", "busy"), order);
+    }
+
+    // A client over its queue share is refused locally while other clients still queue
+    @Test
+    void testClientQueueOverflowRefused() throws Exception {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(1, 1, 5000, Map.of(), 0, 10, 1, 3, 100);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch releaseHold = new CountDownLatch(1);
+
+        Future<?> holder = submitAs("holder", () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> {
+            holding.countDown();
+            return awaitQuietly(releaseHold);
+        }));
+        assertTrue(holding.await(5, TimeUnit.SECONDS));
+        Future<String> queued = submitAs("busy", () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> "busy"));
+        awaitWaiting(scheduler, 1);
+
+        Future<String> overflow =
+                submitAs("busy", () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> "overflow"));
+        ExecutionException refused = assertThrows(ExecutionException.class, () -> overflow.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ClientQueueFullException.class, refused.getCause());
+        Future<String> other =
+                submitAs("quiet", () -> scheduler.call(UpstreamPriority.INTERACTIVE_READ, () -> "quiet"));
+        awaitWaiting(scheduler, 2);
+
+        releaseHold.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertEquals("busy", queued.get(5, TimeUnit.SECONDS));
+        assertEquals("quiet", other.get(5, TimeUnit.SECONDS));
+    }
+
+    // A tenant out of budget waits without holding up the calls of other tenants
+    @Test
+    void testTenantsHaveBudgetsOfTheirOwn() throws Exception {
+        UpstreamCallScheduler scheduler = new UpstreamCallScheduler(4, 10, 1000, Map.of(), 0.001, 1, 0, 0, 100);
+
+        assertEquals("spent", submitAs("acme", "client", () -> scheduler.call(UpstreamPriority.WRITE, () -> "spent"))
+                .get(5, TimeUnit.SECONDS));
+        Future<String> starved =
+                submitAs("acme", "client", () -> scheduler.call(UpstreamPriority.WRITE, () -> "starved"));
+        awaitWaiting(scheduler, 1);
+
+        assertEquals("other", submitAs("globex", "client", () -> scheduler.call(UpstreamPriority.WRITE, () -> "other"))
+                .get(5, TimeUnit.SECONDS));
+        ExecutionException refused = assertThrows(ExecutionException.class, () -> starved.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ServiceOverloadedException.class, refused.getCause());
+    }
+
+    // Runs the call on a pool thread bound to a request of the given client
+    private <T> Future<T> submitAs(String apiKey, Callable<T> call) {
+        return submitAs(null, apiKey, call);
+    }
+
+    // Runs the call on a pool thread bound to a request of the given client of the given tenant
+    private <T> Future<T> submitAs(String tenant, String apiKey, Callable<T> call) {
+        return executor.submit(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader(ClientIdentity.API_KEY_HEADER, apiKey);
+            if (tenant != null) {
+                request.addHeader(TenantContext.TENANT_HEADER, tenant);
+            }
+            ClientIdentity.resolve(request, Set.of(apiKey));
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                return call.call();
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void awaitWaiting(UpstreamCallScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.getWaiting() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, scheduler.getWaiting());
+    }
+}
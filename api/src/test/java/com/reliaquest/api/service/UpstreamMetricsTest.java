@@ -0,0 +1,105 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.MeteredJsonDecoder;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Unit tests for the upstream call meters and the metered JSON decoder.
+ */
+class UpstreamMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RetryRegistry retryRegistry = RetryRegistry.of(
+            RetryConfig.custom().waitDuration(Duration.ofMillis(1)).build());
+    private final UpstreamMetrics upstreamMetrics = new UpstreamMetrics(
+            meterRegistry, retryRegistry, new UpstreamCallScheduler(1, 10, 5000, Map.of(), 0, 10, 1, 3, 100));
+
+    // Calls are timed per operation, tagged with the upstream status
+    @Test
+    void testCallsTimedByOperationAndStatus() {
+        assertEquals("ok", upstreamMetrics.time("getById", () -> "ok"));
+        assertEquals("ok", upstreamMetrics.time("getById", () -> "ok"));
+        WebClientResponseException throttled =
+                WebClientResponseException.create(429, "Too Many Requests", null, null, null);
+        assertThrows(WebClientResponseException.class, () -> upstreamMetrics.time("getById", () -> {
+            throw throttled;
+        }));
+
+        assertEquals(2, timerCount("getById", "2xx"));
+        assertEquals(1, timerCount("getById", "429"));
+    }
+
+    // Every retry of the upstream retry instance is counted by the exception that caused it
+    @Test
+    void testRetriesCounted() {
+        AtomicInteger attempts = new AtomicInteger();
+        String result = retryRegistry.retry(UpstreamMetrics.RETRY_INSTANCE).executeSupplier(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("upstream hiccup");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(
+                2,
+                meterRegistry
+                        .get("employee.upstream.retries")
+                        .tag("exception", "IllegalStateException")
+                        .counter()
+                        .count());
+    }
+
+    // Decoded bodies are measured by size and timed, tagged with the short type name
+    @Test
+    void testDecodeMetered() {
+        byte[] body = "{\"data\":{\"employee_name\":\"John Doe\"},\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+        MeteredJsonDecoder decoder = new MeteredJsonDecoder(new ObjectMapper(), meterRegistry);
+        ResolvableType type =
+                ResolvableType.forType(new ParameterizedTypeReference<ApiResponse<Employee>>() {}.getType());
+
+        Object decoded = decoder.decode(
+                DefaultDataBufferFactory.sharedInstance.wrap(body), type, MediaType.APPLICATION_JSON, null);
+
+        assertInstanceOf(ApiResponse.class, decoded);
+        DistributionSummary size = meterRegistry
+                .get("employee.upstream.response.size")
+                .tag("type", "ApiResponse<Employee>")
+                .summary();
+        assertEquals(body.length, size.totalAmount());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("employee.upstream.decode")
+                        .tag("type", "ApiResponse<Employee>")
+                        .timer()
+                        .count());
+    }
+
+    private long timerCount(String operation, String status) {
+        return meterRegistry
+                .get("employee.upstream.calls")
+                .tag("operation", operation)
+                .tag("status", status)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,61 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // Requests above the limit are rejected until a slot is released
+    @Test
+    void testTryAcquire_RejectsAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 1.5, 100);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.release(BASELINE_RTT);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    // Stable latency at full utilisation lets the limit grow
+    @Test
+    void testLimitGrowsWhileLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 0.2, 1.5, 100);
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limiter, BASELINE_RTT);
+        }
+        assertTrue(limiter.getLimit() > 10);
+    }
+
+    // Rising latency at full utilisation shrinks the limit
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 1, 100, 0.2, 1.5, 1000);
+        for (int i = 0; i < 10; i++) {
+            saturateAndRelease(limiter, BASELINE_RTT);
+        }
+        int limitBeforeSpike = limiter.getLimit();
+        for (int i = 0; i < 5; i++) {
+            saturateAndRelease(limiter, BASELINE_RTT * 10);
+        }
+        assertTrue(limiter.getLimit() < limitBeforeSpike);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private void saturateAndRelease(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.TooManyRequestsException;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Unit tests for the per-client request quota.
+ */
+class ClientQuotaInterceptorTest {
+
+    // A client is rejected once its burst is spent, without affecting other clients
+    @Test
+    void testQuotaEnforcedPerClient() {
+        ClientQuotaInterceptor interceptor = new ClientQuotaInterceptor(2, 0.001, 100, Set.of("portal", "batch-job"));
+
+        assertTrue(admit(interceptor, "portal"));
+        assertTrue(admit(interceptor, "portal"));
+        assertThrows(TooManyRequestsException.class, () -> admit(interceptor, "portal"));
+        assertTrue(admit(interceptor, "batch-job"));
+    }
+
+    // The bucket map is bounded; the least recently used client is evicted and starts over
+    @Test
+    void testLeastRecentlyUsedClientEvicted() {
+        ClientQuotaInterceptor interceptor = new ClientQuotaInterceptor(1, 0.001, 2, Set.of("a", "b", "c"));
+
+        assertTrue(admit(interceptor, "a"));
+        assertTrue(admit(interceptor, "b"));
+        assertThrows(TooManyRequestsException.class, () -> admit(interceptor, "a"));
+        assertTrue(admit(interceptor, "c"));
+
+        assertEquals(2, interceptor.trackedClients());
+        // b was least recently used when c arrived, so it starts over with a full bucket
+        assertTrue(admit(interceptor, "b"));
+        assertThrows(TooManyRequestsException.class, () -> admit(interceptor, "c"));
+    }
+
+    // Churning unknown keys neither buys fresh buckets nor evicts the buckets of configured clients
+    @Test
+    void testUnknownKeysShareTheAddressBucket() {
+        ClientQuotaInterceptor interceptor = new ClientQuotaInterceptor(2, 0.001, 2, Set.of("portal"));
+
+        assertTrue(admit(interceptor, "portal"));
+        assertTrue(admit(interceptor, "random-1"));
+        assertTrue(admit(interceptor, "random-2"));
+        assertThrows(TooManyRequestsException.class, () -> admit(interceptor, "random-3"));
+
+        assertEquals(2, interceptor.trackedClients());
+        assertTrue(admit(interceptor, "portal"));
+    }
+
+    private static boolean admit(ClientQuotaInterceptor interceptor, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(ClientIdentity.API_KEY_HEADER, apiKey);
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeRosterSnapshot;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Unit tests for TenantContext and the tenant scoping of client ids and roster snapshots.
+ */
+class TenantContextTest {
+
+    private static final Set<String> API_KEYS = Set.of("portal");
+
+    @AfterEach
+    void resetRequestContext() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Requests without the header, and calls outside of a request, use the default tenant
+    @Test
+    void testDefaultTenantWithoutHeader() {
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.current());
+
+        MockHttpServletRequest request = bind(new MockHttpServletRequest());
+        request.addHeader(ClientIdentity.API_KEY_HEADER, "portal");
+
+        assertEquals("key:portal", ClientIdentity.resolve(request, API_KEYS));
+        assertEquals(TenantContext.DEFAULT_TENANT, TenantContext.current());
+        assertTrue(TenantContext.isDefault());
+    }
+
+    // Keys that are not configured identify nobody; the client is keyed by its address instead
+    @Test
+    void testUnknownApiKeyFallsBackToAddress() {
+        MockHttpServletRequest request = bind(new MockHttpServletRequest());
+        request.addHeader(ClientIdentity.API_KEY_HEADER, "made-up");
+        request.setRemoteAddr("10.0.0.7");
+
+        assertEquals("ip:10.0.0.7", ClientIdentity.resolve(request, API_KEYS));
+    }
+
+    // Client ids of other tenants are scoped to the tenant
+    @Test
+    void testClientIdScopedToTenant() {
+        MockHttpServletRequest request = bind(new MockHttpServletRequest());
+        request.addHeader(ClientIdentity.API_KEY_HEADER, "portal");
+        request.addHeader(TenantContext.TENANT_HEADER, "emea");
+
+        assertEquals("tenant:emea|key:portal", ClientIdentity.resolve(request, API_KEYS));
+        assertEquals("emea", TenantContext.current());
+        assertFalse(TenantContext.isDefault());
+    }
+
+    // Malformed tenant ids are rejected before any upstream call
+    @Test
+    void testInvalidTenantRejected() {
+        MockHttpServletRequest request = bind(new MockHttpServletRequest());
+        request.addHeader(TenantContext.TENANT_HEADER, "../emea");
+
+        assertThrows(InvalidInputException.class, () -> ClientIdentity.resolve(request, API_KEYS));
+    }
+
+    // A tenant is never served another tenant's stale roster
+    @Test
+    void testRosterSnapshotsKeptPerTenant() {
+        EmployeeRosterSnapshot snapshot = new EmployeeRosterSnapshot();
+        Employee employee = Employee.builder().name("John Doe").build();
+
+        MockHttpServletRequest emea = bind(new MockHttpServletRequest());
+        emea.addHeader(TenantContext.TENANT_HEADER, "emea");
+        TenantContext.resolve(emea);
+        snapshot.update(List.of(employee));
+        assertEquals(List.of(employee), snapshot.serveStale().orElseThrow());
+
+        MockHttpServletRequest apac = bind(new MockHttpServletRequest());
+        apac.addHeader(TenantContext.TENANT_HEADER, "apac");
+        TenantContext.resolve(apac);
+        assertTrue(snapshot.serveStale().isEmpty());
+    }
+
+    private static MockHttpServletRequest bind(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return request;
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+ * Runs the JMH suites selected by the usual JMH command line, always with the GC profiler, so every
+ * result carries its allocation rate (gc.alloc.rate.norm is bytes per operation) next to its time.
+ */
+public final class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        final var options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("build/reports/jmh/results.json")
+                .build();
+        new Runner(options).run();
+    }
+
+    private BenchmarkRunner() {}
+}
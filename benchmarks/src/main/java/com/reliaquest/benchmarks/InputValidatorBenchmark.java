@@ -0,0 +1,91 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.exceptions.InvalidInputException;
+import com.reliaquest.api.model.EmployeeDto;
+import com.reliaquest.api.util.InputValidator;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * InputValidator on the request path: id checks and bean validation of create requests, for valid
+ * input and for input rejected with an InvalidInputException.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputValidatorBenchmark {
+
+    private ValidatorFactory validatorFactory;
+
+    private InputValidator inputValidator;
+
+    private final String validId = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    private final String invalidId = "4a3a170b-22cd-4ac2-aad1";
+
+    private final EmployeeDto validEmployee = EmployeeDto.builder()
+            .name("Jill Jenkins")
+            .salary(139082)
+            .age(48)
+            .title("Financial Advisor")
+            .build();
+
+    private final EmployeeDto invalidEmployee =
+            EmployeeDto.builder().name(" ").salary(139082).age(12).build();
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        inputValidator = new InputValidator(validatorFactory.getValidator());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void validateId() {
+        inputValidator.validateID(validId);
+    }
+
+    @Benchmark
+    public Object validateIdRejected() {
+        try {
+            inputValidator.validateID(invalidId);
+            return null;
+        } catch (InvalidInputException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public void validate() {
+        inputValidator.validate(validEmployee);
+    }
+
+    @Benchmark
+    public Object validateRejected() {
+        try {
+            inputValidator.validate(invalidEmployee);
+            return null;
+        } catch (InvalidInputException ex) {
+            return ex;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterSnapshotCache;
+import com.reliaquest.server.service.TenantRosters;
+import com.reliaquest.server.store.StorePersistence;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+/*
+ * Lookups of the mock server's MockEmployeeService on the default tenant's roster, wired as the
+ * server wires it, over both store types: by id, by name, the full listing and the cached roster
+ * snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockEmployeeServiceBenchmark {
+
+    private static final String TENANT = null;
+
+    @Param({"sharded", "columnar"})
+    private String storeType;
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private ValidatorFactory validatorFactory;
+
+    private MockEmployeeService service;
+
+    private UUID[] ids;
+
+    private int next;
+
+    private EmployeeFilter byName;
+
+    @Setup
+    public void setUp() {
+        final var store = Rosters.store(storeType, rows);
+        final var generator = new EmployeeGenerator(Rosters.SEED, Rosters.LOCALE);
+        final var tenantRosters = new TenantRosters(
+                store,
+                new StaticListableBeanFactory().getBeanProvider(StorePersistence.class),
+                new ObjectMapper(),
+                generator,
+                new SimpleMeterRegistry(),
+                100,
+                10_000,
+                0,
+                rows,
+                storeType,
+                0);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        service = new MockEmployeeService(new Faker(), tenantRosters, generator, validatorFactory.getValidator());
+        ids = store.list().stream().map(MockEmployee::getId).toArray(UUID[]::new);
+        final var name = store.list().get(rows / 2).getName();
+        byName = new EmployeeFilter(name.substring(0, Math.min(name.length(), 4)), null, null, null, null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        final var id = ids[next];
+        next = next + 1 == ids.length ? 0 : next + 1;
+        return service.findById(TENANT, id);
+    }
+
+    @Benchmark
+    public List<MockEmployee> searchByName() {
+        return service.search(TENANT, byName);
+    }
+
+    @Benchmark
+    public List<MockEmployee> listAll() {
+        return service.getMockEmployees(TENANT);
+    }
+
+    @Benchmark
+    public RosterSnapshotCache.RosterSnapshot rosterSnapshot() {
+        return service.getRosterSnapshot(TENANT);
+    }
+}
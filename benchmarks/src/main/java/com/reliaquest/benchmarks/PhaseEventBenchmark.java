@@ -0,0 +1,64 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.jfr.PhaseEvent;
+import com.reliaquest.api.jfr.PhaseLatencyRecorder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * The JFR phase events a request commits (validate, upstream-queue, upstream-call, decode,
+ * response-wrap), without a recording, streamed into the employee.phase timers by
+ * PhaseLatencyRecorder, and streamed with a threshold that drops phases this short. The difference
+ * between the first and the others is what employee.api.jfr.enabled costs each request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PhaseEventBenchmark {
+
+    @Param({"off", "PT0S", "PT0.001S"})
+    public String threshold;
+
+    private PhaseLatencyRecorder recorder;
+
+    @Setup
+    public void setUp() {
+        if (!"off".equals(threshold)) {
+            recorder = new PhaseLatencyRecorder(
+                    new SimpleMeterRegistry(), Duration.ofSeconds(10), Duration.parse(threshold));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (recorder != null) {
+            recorder.close();
+        }
+    }
+
+    @Benchmark
+    public void requestPhases() {
+        PhaseEvent.start(PhaseEvent.VALIDATE, "id").commit();
+        PhaseEvent.start(PhaseEvent.UPSTREAM_QUEUE, "INTERACTIVE_READ").commit();
+        final var call = PhaseEvent.start(PhaseEvent.UPSTREAM_CALL, "getEmployeeById");
+        PhaseEvent.start(PhaseEvent.DECODE, "ApiResponse<Employee>").commit();
+        call.commit();
+        PhaseEvent.start(PhaseEvent.RESPONSE_WRAP, "Employee").commit();
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.EmployeeApiResponseWrapperAdvice;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/*
+ * The response path of the employee endpoints: EmployeeApiResponseWrapperAdvice wrapping a
+ * controller result, alone and followed by the JSON serialization of the wrapped body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseWrapperAdviceBenchmark {
+
+    // Employees in the wrapped list; 1 stands for a single-employee response
+    @Param({"1", "1000"})
+    private int rows;
+
+    private final EmployeeApiResponseWrapperAdvice advice = new EmployeeApiResponseWrapperAdvice();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ServletServerHttpRequest request = new ServletServerHttpRequest(new MockHttpServletRequest());
+
+    private final ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+    private MethodParameter returnType;
+
+    private Object body;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        final List<Employee> employees = Rosters.employees(rows);
+        if (rows == 1) {
+            body = employees.get(0);
+            returnType = new MethodParameter(EmployeeController.class.getMethod("getEmployeeById", String.class), -1);
+        } else {
+            body = employees;
+            returnType = new MethodParameter(EmployeeController.class.getMethod("getAllEmployees"), -1);
+        }
+    }
+
+    @Benchmark
+    public Object wrap() {
+        return advice.beforeBodyWrite(
+                body,
+                returnType,
+                MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class,
+                request,
+                response);
+    }
+
+    @Benchmark
+    public byte[] wrapAndWrite() throws IOException {
+        return objectMapper.writeValueAsBytes(wrap());
+    }
+}
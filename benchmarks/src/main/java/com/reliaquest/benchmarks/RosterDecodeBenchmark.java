@@ -0,0 +1,70 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.ApiResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+
+/*
+ * Decoding of the roster response, ApiResponse<List<Employee>>, as the mock server writes it: with
+ * the ObjectMapper alone, and through the WebFlux decoder the api's WebClient uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class RosterDecodeBenchmark {
+
+    private static final TypeReference<ApiResponse<List<Employee>>> ROSTER = new TypeReference<>() {};
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Jackson2JsonDecoder decoder;
+
+    private ResolvableType rosterType;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = objectMapper.writeValueAsBytes(Response.handledWith(Rosters.mockEmployees(rows)));
+        decoder = new Jackson2JsonDecoder(objectMapper);
+        decoder.setMaxInMemorySize(-1);
+        rosterType = ResolvableType.forType(ROSTER.getType());
+    }
+
+    @Benchmark
+    public ApiResponse<List<Employee>> objectMapper() throws IOException {
+        return objectMapper.readValue(json, ROSTER);
+    }
+
+    @Benchmark
+    public Object webClientDecoder() {
+        return decoder.decode(
+                DefaultDataBufferFactory.sharedInstance.wrap(json), rosterType, MediaType.APPLICATION_JSON, null);
+    }
+}
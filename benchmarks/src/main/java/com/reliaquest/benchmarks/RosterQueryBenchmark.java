@@ -0,0 +1,62 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.util.EmployeeRosterUtil;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * The roster computations of the api's EmployeeService: the searchEmployeesByName filter and the
+ * highest-salary and top-ten rankings, run over rosters as the upstream returns them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RosterQueryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Employee> employees;
+
+    private String searchName;
+
+    @Setup
+    public void setUp() {
+        employees = Rosters.employees(rows);
+        // A last name fragment of a real employee, so the filter keeps a realistic share of rows
+        final var name = employees.get(employees.size() / 2).getName();
+        final int lastName = name.lastIndexOf(' ') + 1;
+        searchName = name.substring(lastName, Math.min(name.length(), lastName + 3));
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return EmployeeRosterUtil.filterByName(employees, searchName);
+    }
+
+    @Benchmark
+    public Optional<Employee> highestSalary() {
+        return EmployeeRosterUtil.highestEarner(employees);
+    }
+
+    @Benchmark
+    public List<String> topTenNames() {
+        return EmployeeRosterUtil.topEarnerNames(employees, 10);
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeGenerator;
+import com.reliaquest.server.service.TenantRosters;
+import com.reliaquest.server.store.EmployeeStore;
+import java.util.List;
+
+/*
+ * Reproducible rosters for the suites, generated the way the mock server seeds its stores.
+ */
+final class Rosters {
+
+    static final long SEED = 42L;
+    static final String LOCALE = "en-US";
+
+    static EmployeeStore store(String storeType, int rows) {
+        final var store = ServerConfiguration.createStore(storeType, 0);
+        new EmployeeGenerator(SEED, LOCALE).generate(TenantRosters.DEFAULT_TENANT, rows, store);
+        return store;
+    }
+
+    static List<MockEmployee> mockEmployees(int rows) {
+        return store("sharded", rows).list();
+    }
+
+    static List<Employee> employees(int rows) {
+        return mockEmployees(rows).stream().map(Rosters::toEmployee).toList();
+    }
+
+    static Employee toEmployee(MockEmployee employee) {
+        return Employee.builder()
+                .id(employee.getId().toString())
+                .name(employee.getName())
+                .salary(employee.getSalary())
+                .age(employee.getAge())
+                .title(employee.getTitle())
+                .email(employee.getEmail())
+                .build();
+    }
+
+    private Rosters() {}
+}
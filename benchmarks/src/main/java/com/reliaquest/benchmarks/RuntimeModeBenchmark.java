@@ -0,0 +1,104 @@
+package com.reliaquest.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/*
+ * GET requests against running mock servers, comparing the servlet and reactive runtimes, e.g. an
+ * MVC server on 8112 against a reactive one on 8113:
+ *
+ *   ./gradlew server:bootRun --args='--mock.rate-limit.mode=disabled'
+ *   ./gradlew server:bootRun --args='--server.port=8113 --spring.profiles.active=reactive \
+ *       --mock.rate-limit.mode=disabled'
+ *   ./gradlew benchmarks:jmh --args='RuntimeModeBenchmark -t 1000 \
+ *       -p target=http://localhost:8112,http://localhost:8113 -p faults=latency'
+ *
+ * Every benchmark thread sends its next request as soon as the previous one completes, so under
+ * overload the sampled latencies understate what an open stream of arrivals would see. Responses
+ * are timed whatever their status. Thousands of threads need a matching open file limit (ulimit -n)
+ * on both sides.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class RuntimeModeBenchmark {
+
+    private static final String ADMIN_FAULTS_PATH = "/api/v1/admin/faults/";
+
+    @Param("http://localhost:8112")
+    public String target;
+
+    @Param("/api/v1/employee/aggregates/highest-salary")
+    public String path;
+
+    @Param("none")
+    public String faults;
+
+    private ExecutorService executor;
+
+    private HttpClient client;
+
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+        final var baseUri = URI.create(target);
+        activateFaults(baseUri, faults);
+        request = HttpRequest.newBuilder(baseUri.resolve(path)).GET().build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        try {
+            activateFaults(URI.create(target), "none");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int get() throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void activateFaults(URI baseUri, String profile) throws Exception {
+        final var response = client.send(
+                HttpRequest.newBuilder(baseUri.resolve(ADMIN_FAULTS_PATH + profile))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                    "Activating fault profile " + profile + " failed with status " + response.statusCode());
+        }
+    }
+}
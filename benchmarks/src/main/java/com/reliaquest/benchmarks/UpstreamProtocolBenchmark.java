@@ -0,0 +1,100 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.config.WebClientConfig;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/*
+ * The api's upstream client over HTTP/1.1 and over h2c, against a running mock server:
+ *
+ *   ./gradlew server:bootRun --args='--mock.rate-limit.mode=disabled'
+ *   ./gradlew benchmarks:jmh --args='UpstreamProtocolBenchmark -t 1000 -p faults=latency'
+ *
+ * The h2c client is the one the api runs with, multiplexing over the given number of connections,
+ * with room for every thread's call to wait for a stream.
+ * The HTTP/1.1 client gets a pool as large as the number of benchmark threads, so every in-flight
+ * call has a connection of its own, as it would need in the api. Each thread issues its next call
+ * as soon as the previous one completes, and responses are timed whatever their status.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class UpstreamProtocolBenchmark {
+
+    private static final String ADMIN_FAULTS_PATH = "/api/v1/admin/faults/";
+
+    @Param({WebClientConfig.HTTP11, WebClientConfig.H2C})
+    public String protocol;
+
+    @Param("http://localhost:8112")
+    public String baseUrl;
+
+    @Param("/api/v1/employee/aggregates/highest-salary")
+    public String path;
+
+    @Param("4")
+    public int connections;
+
+    @Param("none")
+    public String faults;
+
+    private WebClient client;
+
+    @Setup
+    public void setUp(BenchmarkParams params) {
+        final var httpClient =
+                switch (protocol) {
+                    case WebClientConfig.H2C -> WebClientConfig.httpClient(
+                            protocol, connections, params.getThreads(), params.getThreads());
+                    case WebClientConfig.HTTP11 -> HttpClient.create(ConnectionProvider.builder("benchmark-http11")
+                            .maxConnections(params.getThreads())
+                            .pendingAcquireMaxCount(-1)
+                            .build());
+                    default -> throw new IllegalArgumentException("Unknown protocol " + protocol);
+                };
+        client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        activateFaults(faults);
+    }
+
+    @TearDown
+    public void tearDown() {
+        activateFaults("none");
+    }
+
+    @Benchmark
+    public Integer get() {
+        return client.get()
+                .uri(path)
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().value()))
+                .block();
+    }
+
+    private void activateFaults(String profile) {
+        client.put().uri(ADMIN_FAULTS_PATH + profile).retrieve().toBodilessEntity().block();
+    }
+}
@@ -0,0 +1,232 @@
+package com.reliaquest.capture;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary log of captured api requests, written by the api's traffic capture interceptor and
+ * read back by the replay tool of the loadtest module.
+ *
+ * <p>A log starts with the magic {@code RQTC}, a format version and the wall-clock time capture
+ * started. Each record holds the request's start as an offset from that time, its method, route
+ * pattern, path with query string, tenant header, response status and duration. Numbers are
+ * unsigned LEB128 varints. Methods, patterns and tenants repeat from request to request, so each is
+ * written once and referred to by its index afterwards; a typical record takes 15 to 60 bytes.
+ * Records are in completion order, not start order.
+ */
+public final class TrafficCaptureLog {
+
+    static final int MAGIC = 0x52515443;
+    static final int VERSION = 1;
+
+    private TrafficCaptureLog() {}
+
+    /**
+     * One captured request.
+     *
+     * @param offsetMicros   when the request started, in microseconds after capture started
+     * @param method         the HTTP method
+     * @param pattern        the route pattern that served the request, e.g. {@code /{id}}
+     * @param path           the request path including any query string
+     * @param tenant         the tenant header, or an empty string without one
+     * @param status         the response status
+     * @param durationMicros how long the api took to respond, in microseconds
+     */
+    public record CapturedRequest(
+            long offsetMicros,
+            String method,
+            String pattern,
+            String path,
+            String tenant,
+            int status,
+            long durationMicros) {}
+
+    /**
+     * Appends records to a capture log. Not thread-safe.
+     */
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> dictionary = new HashMap<>();
+
+        /**
+         * Starts a capture log on the given stream.
+         *
+         * @param out              the stream the log is written to, buffered by the writer
+         * @param startEpochMillis the wall-clock time capture started
+         * @throws IOException if the header cannot be written
+         */
+        public Writer(OutputStream out, long startEpochMillis) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+            this.out.writeInt(MAGIC);
+            this.out.writeByte(VERSION);
+            this.out.writeLong(startEpochMillis);
+        }
+
+        /**
+         * Appends one record.
+         *
+         * @param request the captured request
+         * @throws IOException if the record cannot be written
+         */
+        public void write(CapturedRequest request) throws IOException {
+            writeVarLong(request.offsetMicros());
+            writeReference(request.method());
+            writeReference(request.pattern());
+            writeString(request.path());
+            writeReference(request.tenant());
+            writeVarLong(request.status());
+            writeVarLong(request.durationMicros());
+        }
+
+        /**
+         * Writes buffered records to the underlying stream.
+         *
+         * @throws IOException if the stream cannot be written
+         */
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeReference(String value) throws IOException {
+            Integer index = dictionary.get(value);
+            if (index != null) {
+                writeVarLong(index);
+                return;
+            }
+            writeVarLong(dictionary.size());
+            dictionary.put(value, dictionary.size());
+            writeString(value);
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte((int) value);
+        }
+    }
+
+    /**
+     * Reads the records of a capture log in the order they were written.
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private final List<String> dictionary = new ArrayList<>();
+        private final long startEpochMillis;
+
+        /**
+         * Opens a capture log.
+         *
+         * @param in the stream the log is read from, buffered by the reader
+         * @throws IOException if the stream is not a capture log of a supported version
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Not a traffic capture log");
+            }
+            int version = this.in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported traffic capture log version " + version);
+            }
+            this.startEpochMillis = this.in.readLong();
+        }
+
+        /**
+         * Returns the wall-clock time capture started.
+         *
+         * @return milliseconds since the epoch
+         */
+        public long getStartEpochMillis() {
+            return startEpochMillis;
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return the record, or null at the end of the log, including after a record cut short by
+         *         a capture that was not closed cleanly
+         * @throws IOException if the log cannot be read
+         */
+        public CapturedRequest read() throws IOException {
+            int first = in.read();
+            if (first < 0) {
+                return null;
+            }
+            try {
+                return new CapturedRequest(
+                        readVarLong(first),
+                        readReference(),
+                        readReference(),
+                        readString(),
+                        readReference(),
+                        (int) readVarLong(in.readUnsignedByte()),
+                        readVarLong(in.readUnsignedByte()));
+            } catch (EOFException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private String readReference() throws IOException {
+            int index = (int) readVarLong(in.readUnsignedByte());
+            if (index < dictionary.size()) {
+                return dictionary.get(index);
+            }
+            if (index != dictionary.size()) {
+                throw new IOException("Corrupt traffic capture log, unknown reference " + index);
+            }
+            String value = readString();
+            dictionary.add(value);
+            return value;
+        }
+
+        private String readString() throws IOException {
+            byte[] bytes = new byte[(int) readVarLong(in.readUnsignedByte())];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private long readVarLong(int first) throws IOException {
+            long value = first & 0x7F;
+            int shift = 7;
+            int current = first;
+            while ((current & 0x80) != 0) {
+                current = in.readUnsignedByte();
+                value |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            }
+            return value;
+        }
+    }
+}
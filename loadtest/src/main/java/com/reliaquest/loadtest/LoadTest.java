@@ -0,0 +1,145 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Drives the api with an open model: requests are scheduled at a fixed rate, or with Poisson
+ * arrivals, whether or not earlier ones have completed, the way independent users arrive. Each
+ * scheduled time is fixed up front, so a request the generator sends late is still timed from when
+ * it was due (coordinated-omission correction). Requests scheduled during the warm-up are not
+ * measured. More than --max-in-flight outstanding requests are not sent but counted as
+ * client-saturated errors, timed at --timeout, which means the rate is beyond what the stack
+ * sustains.
+ *
+ * Prints throughput, response-time percentiles of all measured requests, errors included, and the
+ * service-time p99 per operation, then the errors by operation and status or exception;
+ * --histograms writes .hgrm files per operation.
+ */
+public final class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        final var options = Options.parse(args);
+        try (var stack = options.start ? LocalStack.start(options) : null) {
+            run(options);
+        }
+    }
+
+    private static void run(Options options) throws Exception {
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            final var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            final var workload = new Workload(options.apiUrl, options.timeout, options.mix);
+            workload.loadRoster(client);
+            System.out.printf(
+                    "%.0f req/s %s arrivals, %s warm-up, %s measured, %d employees, mix %s, against %s%n",
+                    options.rate,
+                    options.poisson ? "poisson" : "fixed",
+                    options.warmup,
+                    options.duration,
+                    workload.rosterSize(),
+                    options.mix,
+                    options.apiUrl);
+            final Map<String, OperationStats> stats = new LinkedHashMap<>();
+            drive(client, workload, options).forEach((operation, operationStats) ->
+                    stats.put(operation.label(), operationStats));
+            Report.print(stats, options.duration.toNanos() / 1e9);
+            if (options.histogramDir != null) {
+                Report.writeHistograms(stats, options.histogramDir);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<Operation, OperationStats> drive(HttpClient client, Workload workload, Options options)
+            throws InterruptedException {
+        final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (var operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        final var inFlight = new AtomicInteger();
+        final double meanGapNanos = 1e9 / options.rate;
+        final long start = System.nanoTime();
+        final long measureFrom = start + options.warmup.toNanos();
+        final long measureUntil = measureFrom + options.duration.toNanos();
+        double nextArrival = start;
+        while (nextArrival < measureUntil) {
+            final long intended = (long) nextArrival;
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final var operation = workload.next();
+            final var operationStats = stats.get(operation);
+            final boolean measured = intended >= measureFrom;
+            final var request = workload.request(operation);
+            if (request == null) {
+                if (measured) {
+                    operationStats.skipped.increment();
+                }
+            } else if (inFlight.get() >= options.maxInFlight) {
+                if (measured) {
+                    operationStats.sent.increment();
+                    operationStats.recordSaturated(intended, options.timeout);
+                }
+            } else {
+                inFlight.incrementAndGet();
+                if (measured) {
+                    operationStats.sent.increment();
+                }
+                send(client, workload, operation, request, intended, measured ? operationStats : null)
+                        .whenComplete((ignored, error) -> inFlight.decrementAndGet());
+            }
+            nextArrival += options.poisson
+                    ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos
+                    : meanGapNanos;
+        }
+        final long drainDeadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    // Stats are null for warm-up requests
+    private static CompletableFuture<?> send(
+            HttpClient client,
+            Workload workload,
+            Operation operation,
+            HttpRequest request,
+            long intended,
+            OperationStats stats) {
+        final long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    final long completed = System.nanoTime();
+                    final boolean ok = error == null && response.statusCode() < 400;
+                    if (ok && operation == Operation.CREATE) {
+                        workload.onCreated(response.body());
+                    }
+                    if (stats != null) {
+                        stats.record(response, error, intended, sent, completed);
+                    }
+                });
+    }
+
+    private LoadTest() {}
+}
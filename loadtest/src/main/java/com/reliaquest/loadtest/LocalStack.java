@@ -0,0 +1,99 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The mock server and the api started from their boot jars as child JVMs of the load generator,
+ * logging to build/loadtest. Both are ready once their actuator health endpoint answers 200.
+ */
+final class LocalStack implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    private final HttpClient client =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+
+    static LocalStack start(Options options) throws IOException, InterruptedException {
+        final var stack = new LocalStack();
+        Runtime.getRuntime().addShutdownHook(new Thread(stack::close));
+        try {
+            stack.launch("server", options.serverJar, options.serverArgs, URI.create("http://localhost:8112"));
+            stack.launch("api", options.apiJar, options.apiArgs, options.apiUrl);
+        } catch (IOException | InterruptedException | RuntimeException ex) {
+            stack.close();
+            throw ex;
+        }
+        return stack;
+    }
+
+    private void launch(String name, String jar, List<String> args, URI baseUrl)
+            throws IOException, InterruptedException {
+        if (jar == null) {
+            throw new IllegalArgumentException("No " + name + " jar; run through ./gradlew loadtest:loadTest");
+        }
+        final var logDir = Files.createDirectories(Path.of("build", "loadtest"));
+        final var log = logDir.resolve(name + ".log");
+        final var command = new ArrayList<String>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-jar");
+        command.add(jar);
+        command.addAll(args);
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        processes.add(process);
+        System.out.printf("Started %s (pid %d), logging to %s%n", name, process.pid(), log);
+        awaitHealthy(name, process, baseUrl.resolve("/actuator/health"), log);
+    }
+
+    private void awaitHealthy(String name, Process process, URI health, Path log) throws InterruptedException {
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                final var response = client.send(
+                        HttpRequest.newBuilder(health).GET().build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException(name + " did not become healthy within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    // Stops the api before the server it calls
+    @Override
+    public synchronized void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            final var process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(15, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.loadtest;
+
+import java.util.Locale;
+
+/*
+ * The api endpoints a workload mix is made of.
+ */
+enum Operation {
+    LIST,
+    SEARCH,
+    GET,
+    CREATE,
+    DELETE;
+
+    static Operation parse(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
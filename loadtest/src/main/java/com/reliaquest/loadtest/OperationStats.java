@@ -0,0 +1,81 @@
+package com.reliaquest.loadtest;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/*
+ * Measured requests of one operation. Response times run from the moment the open model scheduled
+ * a request, so a stalled api delays the clock of every request queued behind it and coordinated
+ * omission does not hide the stall. Service times run from the moment the request was actually
+ * sent, for comparison. Both are recorded in microseconds, for failed exchanges as much as for
+ * successful ones, so errors and timeouts count towards the percentiles rather than leaving only
+ * the requests that went well. A request the generator could not send at all is timed at the
+ * request timeout.
+ */
+final class OperationStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    final Histogram responseTimes = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final Histogram serviceTimes = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final LongAdder sent = new LongAdder();
+    final LongAdder succeeded = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    // A completed exchange: a response below 400 is a success, anything else an error by status or exception
+    void record(HttpResponse<?> response, Throwable error, long intendedNanos, long sentNanos, long completedNanos) {
+        responseTimes.recordValue(micros(completedNanos - intendedNanos));
+        serviceTimes.recordValue(micros(completedNanos - sentNanos));
+        if (error == null && response.statusCode() < 400) {
+            succeeded.increment();
+        } else if (error != null) {
+            final var cause = error.getCause() != null ? error.getCause() : error;
+            recordError(cause.getClass().getSimpleName());
+        } else {
+            recordError(Integer.toString(response.statusCode()));
+        }
+    }
+
+    // A request not sent because too many were outstanding; it never had a service time
+    void recordSaturated(long intendedNanos, Duration timeout) {
+        responseTimes.recordValue(micros(System.nanoTime() - intendedNanos + timeout.toNanos()));
+        recordError("client-saturated");
+    }
+
+    void recordError(String cause) {
+        errors.computeIfAbsent(cause, ignored -> new LongAdder()).increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<String, Long> errorBreakdown() {
+        final var breakdown = new TreeMap<String, Long>();
+        errors.forEach((cause, count) -> breakdown.put(cause, count.sum()));
+        return breakdown;
+    }
+
+    private static long micros(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(0, nanos / 1_000));
+    }
+
+    // Percentile distribution in the .hgrm format read by HdrHistogram's plotter, in milliseconds
+    void writeHistogram(Path file) throws IOException {
+        try (var out = new PrintStream(new FileOutputStream(file.toFile()), false, "UTF-8")) {
+            responseTimes.outputPercentileDistribution(out, 1_000.0);
+        }
+    }
+}
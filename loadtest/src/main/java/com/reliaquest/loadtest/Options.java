@@ -0,0 +1,97 @@
+package com.reliaquest.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Command line of the load generator. The started api and server get arguments lifting their
+ * client quota, upstream budget and request limiter, so the measured latencies are the stack's own
+ * rather than its throttling; --api-arg and --server-arg append to them. Replay shares the command
+ * line, reading --capture and --speed in place of the arrival rate and mix.
+ */
+final class Options {
+
+    URI apiUrl = URI.create("http://localhost:8111");
+    boolean start = true;
+    double rate = 100;
+    boolean poisson;
+    Duration warmup = Duration.ofSeconds(10);
+    Duration duration = Duration.ofSeconds(60);
+    Duration timeout = Duration.ofSeconds(30);
+    int maxInFlight = 10_000;
+    Map<Operation, Integer> mix = new EnumMap<>(Map.of(
+            Operation.LIST, 10, Operation.SEARCH, 20, Operation.GET, 60, Operation.CREATE, 5, Operation.DELETE, 5));
+    String histogramDir;
+    String capture;
+    double speed = 1;
+    String serverJar = System.getProperty("loadtest.server-jar");
+    String apiJar = System.getProperty("loadtest.api-jar");
+    final List<String> serverArgs = new ArrayList<>(List.of("--mock.rate-limit.mode=disabled"));
+    final List<String> apiArgs = new ArrayList<>(List.of(
+            "--employee.api.ingress.quota.capacity=1000000000",
+            "--employee.api.ingress.quota.refill-per-second=1000000000",
+            "--employee.api.upstream.budget.rate-per-second=0",
+            "--employee.api.upstream.max-concurrent=256",
+            "--employee.api.upstream.max-queued-per-client=1000000"));
+
+    static Options parse(String[] args) {
+        final var options = new Options();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            final var value = args[i + 1];
+            switch (args[i]) {
+                case "--api-url" -> options.apiUrl = URI.create(value);
+                case "--start" -> options.start = Boolean.parseBoolean(value);
+                case "--rate" -> options.rate = Double.parseDouble(value);
+                case "--arrivals" -> options.poisson = switch (value) {
+                    case "fixed" -> false;
+                    case "poisson" -> true;
+                    default -> throw new IllegalArgumentException("--arrivals is fixed or poisson, got " + value);
+                };
+                case "--warmup" -> options.warmup = parseDuration(value);
+                case "--duration" -> options.duration = parseDuration(value);
+                case "--timeout" -> options.timeout = parseDuration(value);
+                case "--max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "--mix" -> options.mix = parseMix(value);
+                case "--histograms" -> options.histogramDir = value;
+                case "--capture" -> options.capture = value;
+                case "--speed" -> options.speed = Double.parseDouble(value);
+                case "--server-jar" -> options.serverJar = value;
+                case "--api-jar" -> options.apiJar = value;
+                case "--server-arg" -> options.serverArgs.add(value);
+                case "--api-arg" -> options.apiArgs.add(value);
+                default -> throw usage(args);
+            }
+        }
+        if (args.length % 2 != 0 || options.rate <= 0 || options.speed <= 0) {
+            throw usage(args);
+        }
+        return options;
+    }
+
+    private static IllegalArgumentException usage(String[] args) {
+        return new IllegalArgumentException("Usage: [--rate req/s] [--arrivals fixed|poisson] [--warmup 10s] "
+                + "[--duration 60s] [--mix list=10,search=20,get=60,create=5,delete=5] [--timeout 30s] "
+                + "[--max-in-flight n] [--histograms dir] [--start true|false] [--api-url http://localhost:8111] "
+                + "[--server-arg arg] [--api-arg arg]; replay takes --capture file [--speed 1] instead of the "
+                + "rate, arrivals, warm-up, duration and mix; got " + Arrays.toString(args));
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (var entry : value.split(",")) {
+            final int separator = entry.indexOf('=');
+            mix.put(Operation.parse(entry.substring(0, separator).strip()),
+                    Integer.parseInt(entry.substring(separator + 1).strip()));
+        }
+        return mix;
+    }
+
+    private static Duration parseDuration(String value) {
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+}
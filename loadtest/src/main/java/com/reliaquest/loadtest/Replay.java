@@ -0,0 +1,253 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.capture.TrafficCaptureLog;
+import com.reliaquest.capture.TrafficCaptureLog.CapturedRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/*
+ * Replays a traffic capture of the api (employee.api.capture) against the locally started stack,
+ * or the api at --api-url with --start false. Each captured request is sent at its offset from the
+ * first one divided by --speed, whether or not earlier ones have completed, so the capture's
+ * inter-arrival times and bursts are kept at 1x and compressed alike at higher speeds. Response
+ * times run from that scheduled moment, as in the load test.
+ *
+ * Captured ids belong to another roster, so each distinct id is mapped to an employee of the local
+ * roster, the same id always to the same employee. Ids the capture deletes are mapped to employees
+ * the replay created instead, as the load test's deletes are, so the seeded roster stays intact;
+ * requests for such an id are skipped while no created employee is left to stand in for it.
+ * Creates get a synthetic body, as bodies are not captured. The started api has its limits lifted
+ * like in the load test, so shed and throttled requests of the capture are not reproduced unless
+ * --api-arg restores them. Prints the replayed latencies per route, then the captured ones for
+ * comparison.
+ */
+public final class Replay {
+
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+
+    public static void main(String[] args) throws Exception {
+        final var options = Options.parse(args);
+        if (options.capture == null) {
+            throw new IllegalArgumentException("Replay needs --capture, a log written by employee.api.capture");
+        }
+        final var records = read(Path.of(options.capture));
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException(options.capture + " holds no captured requests");
+        }
+        try (var stack = options.start ? LocalStack.start(options) : null) {
+            run(options, records);
+        }
+    }
+
+    // Records are written as requests complete, so they are put back in start order
+    private static List<CapturedRequest> read(Path file) throws IOException {
+        final List<CapturedRequest> records = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(file);
+                var reader = new TrafficCaptureLog.Reader(in)) {
+            for (var record = reader.read(); record != null; record = reader.read()) {
+                records.add(record);
+            }
+        }
+        records.sort(Comparator.comparingLong(CapturedRequest::offsetMicros));
+        return records;
+    }
+
+    private static void run(Options options, List<CapturedRequest> records) throws Exception {
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            final var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+            final var workload = new Workload(options.apiUrl, options.timeout, options.mix);
+            workload.loadRoster(client);
+            final double capturedSeconds =
+                    (records.get(records.size() - 1).offsetMicros() - records.get(0).offsetMicros()) / 1e6;
+            System.out.printf(
+                    "%d requests captured over %.1f s, replayed at %.1fx, %d employees, against %s%n",
+                    records.size(),
+                    capturedSeconds,
+                    options.speed,
+                    workload.rosterSize(),
+                    options.apiUrl);
+            final var stats = drive(client, workload, records, options);
+            Report.print(stats, Math.max(1e-3, capturedSeconds / options.speed));
+            printCaptured(records);
+            if (options.histogramDir != null) {
+                Report.writeHistograms(stats, options.histogramDir);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, OperationStats> drive(
+            HttpClient client, Workload workload, List<CapturedRequest> records, Options options)
+            throws InterruptedException {
+        final Map<String, OperationStats> stats = new TreeMap<>();
+        final Map<String, String> localIds = new HashMap<>();
+        final Set<String> deletedIds = deletedIds(records);
+        final var inFlight = new AtomicInteger();
+        final long firstOffsetMicros = records.get(0).offsetMicros();
+        final long start = System.nanoTime();
+        for (var record : records) {
+            final long intended = start + (long) ((record.offsetMicros() - firstOffsetMicros) * 1_000 / options.speed);
+            final long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            final var routeStats = stats.computeIfAbsent(label(record), ignored -> new OperationStats());
+            if (inFlight.get() >= options.maxInFlight) {
+                routeStats.sent.increment();
+                routeStats.recordSaturated(intended, options.timeout);
+                continue;
+            }
+            final var request = request(record, workload, localIds, deletedIds, options);
+            if (request == null) {
+                routeStats.skipped.increment();
+                continue;
+            }
+            routeStats.sent.increment();
+            inFlight.incrementAndGet();
+            final boolean create = record.method().equals("POST");
+            final long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+                routeStats.record(response, error, intended, sent, System.nanoTime());
+                if (create && error == null && response.statusCode() < 400) {
+                    workload.onCreated(response.body());
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+        final long drainDeadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    // Null when the request targets a deleted id with no created employee to stand in for it
+    private static HttpRequest request(
+            CapturedRequest record,
+            Workload workload,
+            Map<String, String> localIds,
+            Set<String> deletedIds,
+            Options options) {
+        final var localPath = localPath(record, workload, localIds, deletedIds);
+        if (localPath == null) {
+            return null;
+        }
+        final var builder = HttpRequest.newBuilder(
+                        URI.create(options.apiUrl.toString().replaceAll("/+$", "") + localPath))
+                .timeout(options.timeout);
+        if (!record.tenant().isEmpty()) {
+            builder.header(TENANT_HEADER, record.tenant());
+        }
+        return record.method().equals("POST")
+                ? builder.header("Content-Type", "application/json")
+                        .POST(workload.createBody())
+                        .build()
+                : builder.method(record.method(), HttpRequest.BodyPublishers.noBody())
+                        .build();
+    }
+
+    // The captured path with every {id} segment of its route replaced by the mapped local id, or null
+    // if a deleted id has no created employee to map to yet
+    private static String localPath(
+            CapturedRequest record, Workload workload, Map<String, String> localIds, Set<String> deletedIds) {
+        final int queryStart = record.path().indexOf('?');
+        final var segments = pathSegments(record);
+        final var routeSegments = record.pattern().split("/", -1);
+        if (segments.length == routeSegments.length) {
+            for (int i = 0; i < segments.length; i++) {
+                if (routeSegments[i].equals("{id}")) {
+                    final var localId = localIds.computeIfAbsent(
+                            segments[i],
+                            capturedId -> deletedIds.contains(capturedId)
+                                    ? workload.takeCreated()
+                                    : workload.rosterId(localIds.size() % workload.rosterSize()));
+                    if (localId == null) {
+                        return null;
+                    }
+                    segments[i] = localId;
+                }
+            }
+        }
+        return String.join("/", segments) + (queryStart < 0 ? "" : record.path().substring(queryStart));
+    }
+
+    // Captured ids that some DELETE of the capture removes
+    private static Set<String> deletedIds(List<CapturedRequest> records) {
+        final Set<String> deletedIds = new HashSet<>();
+        for (var record : records) {
+            final var segments = pathSegments(record);
+            final var routeSegments = record.pattern().split("/", -1);
+            if (record.method().equals("DELETE") && segments.length == routeSegments.length) {
+                for (int i = 0; i < segments.length; i++) {
+                    if (routeSegments[i].equals("{id}")) {
+                        deletedIds.add(segments[i]);
+                    }
+                }
+            }
+        }
+        return deletedIds;
+    }
+
+    // The segments of the captured path, without its query string
+    private static String[] pathSegments(CapturedRequest record) {
+        final int queryStart = record.path().indexOf('?');
+        return (queryStart < 0 ? record.path() : record.path().substring(0, queryStart)).split("/", -1);
+    }
+
+    private static void printCaptured(List<CapturedRequest> records) {
+        final Map<String, Histogram> durations = new TreeMap<>();
+        final Map<String, Long> errors = new HashMap<>();
+        for (var record : records) {
+            durations.computeIfAbsent(label(record), ignored -> new Histogram(3)).recordValue(record.durationMicros());
+            if (record.status() >= 400) {
+                errors.merge(label(record), 1L, Long::sum);
+            }
+        }
+        final int width = Math.max(8, durations.keySet().stream().mapToInt(String::length).max().orElse(0));
+        System.out.println("captured:");
+        System.out.printf(
+                "%-" + width + "s %9s %9s %9s %9s %8s%n", "op", "requests", "p50 ms", "p99 ms", "max ms", "errors");
+        durations.forEach((label, histogram) -> System.out.printf(
+                "%-" + width + "s %9d %9.1f %9.1f %9.1f %8d%n",
+                label,
+                histogram.getTotalCount(),
+                Report.millis(histogram, 50),
+                Report.millis(histogram, 99),
+                histogram.getMaxValue() / 1_000.0,
+                errors.getOrDefault(label, 0L)));
+    }
+
+    private static String label(CapturedRequest record) {
+        return record.method() + " " + record.pattern();
+    }
+
+    private Replay() {}
+}
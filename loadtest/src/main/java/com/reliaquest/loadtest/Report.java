@@ -0,0 +1,79 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+
+/*
+ * Prints the measured requests per label, one row each plus a row for all of them, then the errors
+ * by label and status or exception, and writes the .hgrm files of --histograms. Percentiles cover
+ * every measured request, failed ones included; ok/s counts the successful ones only.
+ */
+final class Report {
+
+    static void print(Map<String, OperationStats> stats, double seconds) {
+        final int width = Math.max(8, stats.keySet().stream().mapToInt(String::length).max().orElse(0));
+        System.out.printf(
+                "%-" + width + "s %9s %9s %9s %9s %9s %9s %9s %8s %8s%n",
+                "op", "sent", "ok/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99", "errors", "skipped");
+        final var all = new OperationStats();
+        for (var entry : stats.entrySet()) {
+            final var operationStats = entry.getValue();
+            if (operationStats.sent.sum() + operationStats.skipped.sum() == 0) {
+                continue;
+            }
+            printRow(width, entry.getKey(), operationStats, seconds);
+            all.responseTimes.add(operationStats.responseTimes);
+            all.serviceTimes.add(operationStats.serviceTimes);
+            all.sent.add(operationStats.sent.sum());
+            all.succeeded.add(operationStats.succeeded.sum());
+            all.skipped.add(operationStats.skipped.sum());
+            operationStats.errors.forEach((cause, count) ->
+                    all.errors.computeIfAbsent(cause, ignored -> new LongAdder()).add(count.sum()));
+        }
+        printRow(width, "all", all, seconds);
+        if (all.errorCount() > 0) {
+            System.out.println("errors:");
+            stats.forEach((label, operationStats) -> operationStats
+                    .errorBreakdown()
+                    .forEach((cause, count) ->
+                            System.out.printf("  %-" + width + "s %-28s %8d%n", label, cause, count)));
+        }
+    }
+
+    static void writeHistograms(Map<String, OperationStats> stats, String histogramDir) throws IOException {
+        final var dir = Files.createDirectories(Path.of(histogramDir));
+        for (var entry : stats.entrySet()) {
+            final var name = entry.getKey().replaceAll("[^A-Za-z0-9]+", "-").replaceAll("^-|-$", "");
+            entry.getValue().writeHistogram(dir.resolve(name + ".hgrm"));
+        }
+        System.out.println("Histograms written to " + dir.toAbsolutePath());
+    }
+
+    static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0
+                ? Double.NaN
+                : histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    private static void printRow(int width, String label, OperationStats stats, double seconds) {
+        final Histogram responseTimes = stats.responseTimes;
+        System.out.printf(
+                "%-" + width + "s %9d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %8d %8d%n",
+                label,
+                stats.sent.sum(),
+                stats.succeeded.sum() / seconds,
+                millis(responseTimes, 50),
+                millis(responseTimes, 99),
+                millis(responseTimes, 99.9),
+                responseTimes.getTotalCount() == 0 ? Double.NaN : responseTimes.getMaxValue() / 1_000.0,
+                millis(stats.serviceTimes, 99),
+                stats.errorCount(),
+                stats.skipped.sum());
+    }
+
+    private Report() {}
+}
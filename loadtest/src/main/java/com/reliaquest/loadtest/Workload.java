@@ -0,0 +1,152 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Picks operations by the weights of the mix and builds their requests. Gets and searches target
+ * the roster found at start-up, so they keep hitting existing employees. Deletes only remove
+ * employees this run created, so a long run does not drain the roster; a delete drawn while none
+ * are left is skipped.
+ */
+final class Workload {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String CREATE_BODY =
+            "{\"name\":\"Load Test %d\",\"salary\":%d,\"age\":%d,\"title\":\"Load Tester\"}";
+
+    private final URI apiUrl;
+    private final Duration timeout;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+    private final Queue<String> created = new ConcurrentLinkedQueue<>();
+    private final AtomicLong createdCount = new AtomicLong();
+
+    Workload(URI apiUrl, Duration timeout, Map<Operation, Integer> mix) {
+        this.apiUrl = apiUrl;
+        this.timeout = timeout;
+        this.operations = mix.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(Map.Entry::getKey)
+                .toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+    }
+
+    void loadRoster(HttpClient client) throws IOException, InterruptedException {
+        final var response = client.send(get(apiUrl), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Listing the roster failed with status " + response.statusCode());
+        }
+        for (JsonNode employee : MAPPER.readTree(response.body()).path("data")) {
+            ids.add(employee.path("id").asText());
+            final var name = employee.path("name").asText();
+            if (name.length() >= 3) {
+                searchTerms.add(name.substring(0, 3));
+            }
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The roster is empty, nothing to get or search");
+        }
+    }
+
+    int rosterSize() {
+        return ids.size();
+    }
+
+    String rosterId(int index) {
+        return ids.get(index);
+    }
+
+    // A new employee with a unique name and random salary and age
+    HttpRequest.BodyPublisher createBody() {
+        final var random = ThreadLocalRandom.current();
+        return HttpRequest.BodyPublishers.ofString(CREATE_BODY.formatted(
+                createdCount.incrementAndGet(), random.nextInt(30_000, 300_000), random.nextInt(18, 70)));
+    }
+
+    Operation next() {
+        final int draw = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new AssertionError();
+    }
+
+    // Null when the operation has nothing to act on
+    HttpRequest request(Operation operation) {
+        final var random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case LIST -> get(apiUrl);
+            case SEARCH -> get(resolve("/search/"
+                    + URLEncoder.encode(searchTerms.get(random.nextInt(searchTerms.size())), StandardCharsets.UTF_8)
+                            .replace("+", "%20")));
+            case GET -> get(resolve("/" + ids.get(random.nextInt(ids.size()))));
+            case CREATE -> HttpRequest.newBuilder(apiUrl)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(createBody())
+                    .build();
+            case DELETE -> {
+                final var id = takeCreated();
+                yield id == null
+                        ? null
+                        : HttpRequest.newBuilder(resolve("/" + id))
+                                .timeout(timeout)
+                                .DELETE()
+                                .build();
+            }
+        };
+    }
+
+    // An employee this run created and no delete has taken yet, or null if there is none
+    String takeCreated() {
+        return created.poll();
+    }
+
+    // Remembers created employees, so later deletes have something to remove
+    void onCreated(byte[] body) {
+        try {
+            final var id = MAPPER.readTree(body).path("data").path("id").asText(null);
+            if (id != null) {
+                created.add(id);
+            }
+        } catch (IOException ex) {
+            // Counted by status; an unreadable body only means one fewer delete target
+        }
+    }
+
+    private HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+    }
+
+    private URI resolve(String path) {
+        return URI.create(apiUrl.toString().replaceAll("/+$", "") + path);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+ * Named fault profiles. Each profile maps an endpoint (list, get, create, delete, batch, or default
+ * for any endpoint not listed) to the faults injected into its responses.
+ */
+@Data
+@ConfigurationProperties("mock.faults")
+public class FaultInjectionProperties {
+
+    public static final String NONE = "none";
+
+    private String active = NONE;
+
+    private Map<String, Map<String, EndpointFaults>> profiles = new HashMap<>();
+
+    @Data
+    public static class EndpointFaults {
+
+        private Latency latency = new Latency();
+
+        // Fraction of requests answered with errorStatus
+        private double errorRate;
+
+        private int errorStatus = 500;
+
+        // Fraction of requests whose connection is dropped before a body is sent
+        private double resetRate;
+
+        // Fraction of responses cut off halfway through the body
+        private double truncateRate;
+
+        private SlowDrip slowDrip = new SlowDrip();
+    }
+
+    @Data
+    public static class Latency {
+
+        private Distribution distribution = Distribution.NONE;
+
+        private Duration fixed = Duration.ZERO;
+
+        private Duration mean = Duration.ZERO;
+
+        private Duration stddev = Duration.ZERO;
+
+        // Minimum delay of the Pareto distribution; shape controls how long its tail is
+        private Duration scale = Duration.ofMillis(10);
+
+        private double shape = 1.5;
+
+        private Duration max = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class SlowDrip {
+
+        // Fraction of responses written in small delayed chunks
+        private double rate;
+
+        private int chunkBytes = 256;
+
+        private Duration chunkDelay = Duration.ofMillis(50);
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        NORMAL,
+        PARETO
+    }
+}
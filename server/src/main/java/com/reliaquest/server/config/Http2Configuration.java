@@ -0,0 +1,42 @@
+package com.reliaquest.server.config;
+
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatConnectorCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+ * With server.http2.enabled and no TLS both runtimes serve h2c next to HTTP/1.1, including clients
+ * that start with the HTTP/2 preface (prior knowledge). Clients multiplex their calls over a few
+ * connections, so the stream limits are raised well above the defaults; Tomcat would otherwise run
+ * only 20 streams of a connection at a time and queue the rest.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Configuration {
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public TomcatConnectorCustomizer http2StreamLimits(
+            @Value("${mock.http2.max-concurrent-streams:1000}") int maxConcurrentStreams) {
+        return connector -> {
+            for (var upgradeProtocol : connector.findUpgradeProtocols()) {
+                if (upgradeProtocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreams);
+                }
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public NettyServerCustomizer reactiveHttp2StreamLimits(
+            @Value("${mock.http2.max-concurrent-streams:1000}") int maxConcurrentStreams) {
+        return httpServer -> httpServer.http2Settings(settings -> settings.maxConcurrentStreams(maxConcurrentStreams));
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.server.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/*
+ * random: the original limiter, with a limit and backoff drawn at startup; token-bucket: a
+ * reproducible per-client limit; disabled: no limit.
+ */
+@Data
+@ConfigurationProperties("mock.rate-limit")
+public class RateLimitProperties {
+
+    public static final String RANDOM = "random";
+    public static final String TOKEN_BUCKET = "token-bucket";
+    public static final String DISABLED = "disabled";
+
+    private String mode = RANDOM;
+
+    private double ratePerSecond = 10;
+
+    private int burst = 20;
+
+    private int maxClients = 10000;
+}
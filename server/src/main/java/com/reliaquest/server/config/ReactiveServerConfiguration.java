@@ -0,0 +1,76 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.controller.MockEmployeeHandler;
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.TenantRosters;
+import com.reliaquest.server.web.RequestLimitWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+/*
+ * Reactive runtime, selected with the reactive profile: functional routes over the same service and
+ * store as the MVC controllers, served by Netty. Errors map to statuses the way
+ * MockEmployeeControllerAdvice maps them for the MVC runtime.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class ReactiveServerConfiguration {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(MockEmployeeHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/v1/employee", employee -> employee.GET("", handler::getEmployees)
+                        .GET("/aggregates", handler::getAggregates)
+                        .GET("/aggregates/highest-salary", handler::getHighestSalary)
+                        .GET("/aggregates/top-earners", handler::getTopEarners)
+                        .POST("/batch/get", handler::getEmployeesBatch)
+                        .POST("/batch", handler::createEmployeesBatch)
+                        .DELETE("/batch", handler::deleteEmployeesBatch)
+                        .GET("/{id}", handler::getEmployee)
+                        .DELETE("/{id}", handler::deleteEmployeeById)
+                        .POST("", handler::createEmployee)
+                        .DELETE("", handler::deleteEmployee))
+                .onError(InvalidRequestException.class, (ex, request) -> ServerResponse.badRequest()
+                        .bodyValue(Response.error(ex.getMessage())))
+                // Unreadable bodies, e.g. malformed JSON, arrive as ServerWebInputException
+                .onError(ResponseStatusException.class, (ex, request) -> ServerResponse.status(ex.getStatusCode())
+                        .bodyValue(Response.error(ex.getReason())))
+                .onError(DecodingException.class, (ex, request) -> ServerResponse.badRequest()
+                        .bodyValue(Response.error(ex.getMessage())))
+                .onError(Throwable.class, (ex, request) -> {
+                    log.error("Error handling web request.", ex);
+                    return ServerResponse.internalServerError().bodyValue(Response.error(ex.getMessage()));
+                })
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${mock.rate-limit.mode:random}' != 'disabled'")
+    public RequestLimitWebFilter requestLimitWebFilter(
+            RateLimitProperties rateLimit, TenantRosters tenantRosters, MeterRegistry meterRegistry) {
+        final var rejections = ServerConfiguration.rejectionCounter(meterRegistry, rateLimit.getMode());
+        return switch (rateLimit.getMode()) {
+            case RateLimitProperties.RANDOM -> RequestLimitWebFilter.random(rejections);
+            case RateLimitProperties.TOKEN_BUCKET -> RequestLimitWebFilter.tokenBucket(
+                    rateLimit.getRatePerSecond(),
+                    rateLimit.getBurst(),
+                    rateLimit.getMaxClients(),
+                    tenantRosters::resolve,
+                    rejections);
+            default -> throw new IllegalArgumentException("Unknown mock.rate-limit.mode " + rateLimit.getMode());
+        };
+    }
+}
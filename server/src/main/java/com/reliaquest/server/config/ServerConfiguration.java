@@ -1,26 +1,36 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.jfr.RateLimitEvent;
+import com.reliaquest.server.service.EmployeeGenerator;
+import com.reliaquest.server.service.TenantRosters;
+import com.reliaquest.server.store.ColumnarEmployeeStore;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.ShardedEmployeeStore;
+import com.reliaquest.server.store.StorePersistence;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.web.TokenBucketRequestLimitInterceptor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-@Slf4j
 @Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, FaultInjectionProperties.class})
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
@@ -30,30 +40,107 @@ public class ServerConfiguration implements WebMvcConfigurer {
         return new Faker(Locale.getDefault());
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public StorePersistence storePersistence(
+            @Value("${mock.persistence.dir:data}") Path directory,
+            @Value("${mock.persistence.snapshot-interval:PT5M}") Duration snapshotInterval) {
+        return new StorePersistence(directory, snapshotInterval);
+    }
+
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The default tenant's store, shared by all its request threads. The sharded store lets
+     * concurrent CRUD operations proceed in parallel; the columnar store keeps rosters of tens of
+     * millions of employees off the heap.
+     * With persistence enabled, random employees are only generated when nothing was recovered.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public EmployeeStore employeeStore(
+            EmployeeGenerator employeeGenerator,
+            ObjectProvider<StorePersistence> storePersistence,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.store.type:sharded}") String storeType,
+            @Value("${mock.store.shards:0}") int shards)
+            throws IOException {
+        final var store = createStore(storeType, shards);
+        final var persistence = storePersistence.getIfAvailable();
+        if (persistence != null) {
+            persistence.recover(store);
+            if (store.size() > 0) {
+                return store;
+            }
+        }
+        employeeGenerator.generate(TenantRosters.DEFAULT_TENANT, maxEmployees, store);
+        if (persistence != null) {
+            persistence.snapshot();
+        }
+        return store;
+    }
+
+    public static EmployeeStore createStore(String storeType, int shards) {
+        return switch (storeType) {
+            case "sharded" -> shards > 0
+                    ? new ShardedEmployeeStore(shards)
+                    : ShardedEmployeeStore.forAvailableProcessors();
+            case "columnar" -> new ColumnarEmployeeStore();
+            default -> throw new IllegalArgumentException("Unknown mock.store.type " + storeType);
+        };
     }
 
+    @Autowired
+    private RateLimitProperties rateLimit;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // TenantRosters depends on the employeeStore bean defined here, so it is looked up lazily
+    @Autowired
+    private ObjectProvider<TenantRosters> tenantRosters;
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        final HandlerInterceptor limiter =
+                switch (rateLimit.getMode()) {
+                    case RateLimitProperties.RANDOM -> new RandomRequestLimitInterceptor();
+                    case RateLimitProperties.TOKEN_BUCKET -> new TokenBucketRequestLimitInterceptor(
+                            rateLimit.getRatePerSecond(),
+                            rateLimit.getBurst(),
+                            rateLimit.getMaxClients(),
+                            tenantRosters.getObject()::resolve);
+                    case RateLimitProperties.DISABLED -> null;
+                    default -> throw new IllegalArgumentException(
+                            "Unknown mock.rate-limit.mode " + rateLimit.getMode());
+                };
+        if (limiter != null) {
+            final var mode = rateLimit.getMode();
+            final var rejections = rejectionCounter(meterRegistry, mode);
+            // Records every decision as a RateLimitEvent and counts the requests turned away with a 429
+            final HandlerInterceptor counted = new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+                        throws Exception {
+                    final var event = RateLimitEvent.start(mode);
+                    boolean admitted = false;
+                    try {
+                        admitted = limiter.preHandle(request, response, handler);
+                    } finally {
+                        // A limiter failure is recorded as a rejection
+                        event.commit(admitted);
+                    }
+                    if (!admitted) {
+                        rejections.increment();
+                    }
+                    return admitted;
+                }
+            };
+            registry.addInterceptor(counted).addPathPatterns("/api/v1/employee/**");
+        }
+    }
+
+    public static Counter rejectionCounter(MeterRegistry meterRegistry, String mode) {
+        return Counter.builder("mock.rate.limit.rejections")
+                .description("Employee requests rejected by the request limiter")
+                .tag("mode", mode)
+                .register(meterRegistry);
     }
 }
@@ -0,0 +1,62 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.TenantRosters;
+import com.reliaquest.server.web.FaultProfiles;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final FaultProfiles faultProfiles;
+
+    @Value("${mock.admin.max-seed:5000000}")
+    private int maxSeed;
+
+    /*
+     * Bulk-seeds generated employees into the tenant's roster, e.g. to benchmark the api against a
+     * production-sized roster.
+     */
+    @PostMapping("/seed")
+    public Response<Map<String, Integer>> seed(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestParam("count") int count) {
+        if (count < 1 || count > maxSeed) {
+            throw new InvalidRequestException("count must be between 1 and " + maxSeed);
+        }
+        final int added = mockEmployeeService.seed(tenant, count);
+        return Response.handledWith(Map.of("added", added, "total", mockEmployeeService.size(tenant)));
+    }
+
+    @GetMapping("/faults")
+    public Response<Map<String, Object>> faults() {
+        return Response.handledWith(Map.of(
+                "active", faultProfiles.getActiveProfile(),
+                "profiles", faultProfiles.getProfiles()));
+    }
+
+    /*
+     * Switches the fault profile applied to the employee endpoints; "none" turns injection off.
+     */
+    @PutMapping("/faults/{profile}")
+    public Response<String> activateFaults(@PathVariable("profile") String profile) {
+        faultProfiles.activate(profile);
+        return Response.handledWith(profile);
+    }
+}
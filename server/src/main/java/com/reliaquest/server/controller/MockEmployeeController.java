@@ -1,51 +1,174 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeFilter;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.TenantRosters;
 import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    /*
+     * Without filters, written from the bytes cached for the current roster version; gzip is applied
+     * here rather than by the container so the same compressed buffer serves every client that
+     * accepts it. Filters are evaluated against the store's indexes.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<?> getEmployees(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestParam(value = "nameContains", required = false) String nameContains,
+            @RequestParam(value = "minSalary", required = false) Integer minSalary,
+            @RequestParam(value = "maxSalary", required = false) Integer maxSalary,
+            @RequestParam(value = "minAge", required = false) Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @RequestParam(value = "title", required = false) String title) {
+        final var filter = new EmployeeFilter(nameContains, minSalary, maxSalary, minAge, maxAge, title);
+        if (!filter.isEmpty()) {
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.search(tenant, filter)));
+        }
+        final var snapshot = mockEmployeeService.getRosterSnapshot(tenant);
+        final var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    @GetMapping("/aggregates")
+    public Response<Map<String, Object>> getAggregates(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant) {
+        final Map<String, Object> aggregates = new LinkedHashMap<>();
+        aggregates.put("count", mockEmployeeService.size(tenant));
+        mockEmployeeService.highestSalary(tenant).ifPresent(salary -> aggregates.put("highestSalary", salary));
+        return Response.handledWith(aggregates);
+    }
+
+    @GetMapping("/aggregates/highest-salary")
+    public Response<Integer> getHighestSalary(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant) {
+        return mockEmployeeService.highestSalary(tenant).map(Response::handledWith).orElseGet(Response::handled);
+    }
+
+    @GetMapping("/aggregates/top-earners")
+    public Response<List<MockEmployee>> getTopEarners(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.topEarners(tenant, limit));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
+    public ResponseEntity<Response<MockEmployee>> getEmployee(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @PathVariable("id") UUID uuid) {
         return mockEmployeeService
-                .findById(uuid)
+                .findById(tenant, uuid)
                 .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public Response<MockEmployee> createEmployee(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @Valid @RequestBody CreateMockEmployeeInput input,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return Response.handledWith(mockEmployeeService.create(tenant, input, idempotencyKey));
+    }
+
+    /*
+     * Removes by id through the store's id index and returns the removed employee, unlike the
+     * name-based delete, which scans for the first employee with a matching name.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployee(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(tenant, uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
     @DeleteMapping()
-    public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.delete(input));
+    public Response<Boolean> deleteEmployee(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @Valid @RequestBody DeleteMockEmployeeInput input) {
+        return Response.handledWith(mockEmployeeService.delete(tenant, input));
+    }
+
+    /*
+     * Batch endpoints answer 200 with a result per item, in request order; only a batch over
+     * mock.batch.max-items is rejected as a whole.
+     */
+    @PostMapping("/batch/get")
+    public Response<List<BatchResult<MockEmployee>>> getEmployees(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestBody List<String> ids) {
+        return Response.handledWith(mockEmployeeService.findAll(tenant, ids));
+    }
+
+    @PostMapping("/batch")
+    public Response<List<BatchResult<MockEmployee>>> createEmployees(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestBody List<CreateMockEmployeeInput> inputs,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return Response.handledWith(mockEmployeeService.createAll(tenant, inputs, idempotencyKey));
+    }
+
+    @DeleteMapping("/batch")
+    public Response<List<BatchResult<MockEmployee>>> deleteEmployees(
+            @RequestHeader(value = TenantRosters.TENANT_HEADER, required = false) String tenant,
+            @RequestBody List<String> ids) {
+        return Response.handledWith(mockEmployeeService.deleteAll(tenant, ids));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final var parts = coding.split(";");
+            final var name = parts[0].strip();
+            if (!"gzip".equalsIgnoreCase(name) && !"*".equals(name)) {
+                continue;
+            }
+            final var rejected = parts.length > 1
+                    && parts[1].strip().replace(" ", "").matches("(?i)q=0(\\.0*)?");
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,200 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.TenantRosters;
+import jakarta.validation.Validator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/*
+ * Functional counterpart of MockEmployeeController for the reactive runtime, over the same service
+ * and store. Cheap lookups answer on the event loop; anything that scans the roster, rebuilds the
+ * cached roster bytes or waits for the write-ahead log runs on the bounded elastic scheduler, so
+ * event loop threads only ever wait on I/O readiness. Parameters are parsed inside the returned
+ * publisher, so malformed ones reach the route's error handlers.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class MockEmployeeHandler {
+
+    private static final ParameterizedTypeReference<List<String>> ID_LIST = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<List<CreateMockEmployeeInput>> INPUT_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    private final MockEmployeeService mockEmployeeService;
+
+    private final Validator validator;
+
+    public Mono<ServerResponse> getEmployees(ServerRequest request) {
+        return Mono.defer(() -> employees(request));
+    }
+
+    private Mono<ServerResponse> employees(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        final var filter = new EmployeeFilter(
+                request.queryParam("nameContains").orElse(null),
+                intParam(request, "minSalary"),
+                intParam(request, "maxSalary"),
+                intParam(request, "minAge"),
+                intParam(request, "maxAge"),
+                request.queryParam("title").orElse(null));
+        if (!filter.isEmpty()) {
+            return offloaded(() -> mockEmployeeService.search(tenant, filter))
+                    .flatMap(employees -> ServerResponse.ok().bodyValue(Response.handledWith(employees)));
+        }
+        final boolean gzip = MockEmployeeController.acceptsGzip(
+                request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING));
+        return offloaded(() -> mockEmployeeService.getRosterSnapshot(tenant)).flatMap(snapshot -> {
+            final var response = ServerResponse.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").bodyValue(snapshot.gzip());
+            }
+            return response.bodyValue(snapshot.json());
+        });
+    }
+
+    public Mono<ServerResponse> getAggregates(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        return offloaded(() -> {
+                    final Map<String, Object> aggregates = new LinkedHashMap<>();
+                    aggregates.put("count", mockEmployeeService.size(tenant));
+                    mockEmployeeService
+                            .highestSalary(tenant)
+                            .ifPresent(salary -> aggregates.put("highestSalary", salary));
+                    return aggregates;
+                })
+                .flatMap(aggregates -> ServerResponse.ok().bodyValue(Response.handledWith(aggregates)));
+    }
+
+    public Mono<ServerResponse> getHighestSalary(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        return offloaded(() -> mockEmployeeService
+                        .highestSalary(tenant)
+                        .map(Response::handledWith)
+                        .orElseGet(Response::handled))
+                .flatMap(response -> ServerResponse.ok().bodyValue(response));
+    }
+
+    public Mono<ServerResponse> getTopEarners(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        return offloaded(() -> mockEmployeeService.topEarners(
+                        tenant,
+                        Objects.requireNonNullElse(intParam(request, "limit"), 10)))
+                .flatMap(employees -> ServerResponse.ok().bodyValue(Response.handledWith(employees)));
+    }
+
+    public Mono<ServerResponse> getEmployee(ServerRequest request) {
+        return Mono.fromCallable(() -> idOf(request))
+                .flatMap(uuid -> offloaded(() -> mockEmployeeService.findById(tenantOf(request), uuid)))
+                .flatMap(found -> found.map(employee -> ServerResponse.ok().bodyValue(Response.handledWith(employee)))
+                        .orElseGet(() -> ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(Response.handled())));
+    }
+
+    public Mono<ServerResponse> deleteEmployeeById(ServerRequest request) {
+        return Mono.fromCallable(() -> idOf(request))
+                .flatMap(uuid -> offloaded(() -> mockEmployeeService.deleteById(tenantOf(request), uuid)))
+                .flatMap(deleted -> deleted.map(
+                                employee -> ServerResponse.ok().bodyValue(Response.handledWith(employee)))
+                        .orElseGet(() -> ServerResponse.status(HttpStatus.NOT_FOUND).bodyValue(Response.handled())));
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        final var idempotencyKey = request.headers().firstHeader("Idempotency-Key");
+        return request.bodyToMono(CreateMockEmployeeInput.class)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")))
+                .map(this::validated)
+                .flatMap(input -> offloaded(() -> mockEmployeeService.create(tenant, input, idempotencyKey)))
+                .flatMap(employee -> ServerResponse.ok().bodyValue(Response.handledWith(employee)));
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+        return request.bodyToMono(DeleteMockEmployeeInput.class)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")))
+                .map(this::validated)
+                .flatMap(input -> offloaded(() -> mockEmployeeService.delete(tenantOf(request), input)))
+                .flatMap(deleted -> ServerResponse.ok().bodyValue(Response.handledWith(deleted)));
+    }
+
+    public Mono<ServerResponse> getEmployeesBatch(ServerRequest request) {
+        return request.bodyToMono(ID_LIST)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")))
+                .flatMap(ids -> offloaded(() -> mockEmployeeService.findAll(tenantOf(request), ids)))
+                .flatMap(results -> ServerResponse.ok().bodyValue(Response.handledWith(results)));
+    }
+
+    public Mono<ServerResponse> createEmployeesBatch(ServerRequest request) {
+        final var tenant = tenantOf(request);
+        final var idempotencyKey = request.headers().firstHeader("Idempotency-Key");
+        return request.bodyToMono(INPUT_LIST)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")))
+                .flatMap(inputs -> offloaded(() -> mockEmployeeService.createAll(tenant, inputs, idempotencyKey)))
+                .flatMap(results -> ServerResponse.ok().bodyValue(Response.handledWith(results)));
+    }
+
+    public Mono<ServerResponse> deleteEmployeesBatch(ServerRequest request) {
+        return request.bodyToMono(ID_LIST)
+                .switchIfEmpty(Mono.error(() -> new InvalidRequestException("Request body is required")))
+                .flatMap(ids -> offloaded(() -> mockEmployeeService.deleteAll(tenantOf(request), ids)))
+                .flatMap(results -> ServerResponse.ok().bodyValue(Response.handledWith(results)));
+    }
+
+    private <T> T validated(T input) {
+        final var violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return input;
+    }
+
+    private static String tenantOf(ServerRequest request) {
+        return request.headers().firstHeader(TenantRosters.TENANT_HEADER);
+    }
+
+    private static UUID idOf(ServerRequest request) {
+        try {
+            return UUID.fromString(request.pathVariable("id"));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid employee id", ex);
+        }
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        try {
+            return request.queryParam(name).map(Integer::valueOf).orElse(null);
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException(name + " must be a whole number", ex);
+        }
+    }
+
+    private static <T> Mono<T> offloaded(Callable<T> work) {
+        return Mono.fromCallable(work).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.server.exceptions;
+
+/*
+ * A request the client got wrong, answered with 400. Other exceptions, including
+ * IllegalArgumentExceptions raised by the server's own code, remain server errors.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * One request limiter decision for an employee request, with the time the limiter took to make it.
+ */
+@Name("com.reliaquest.server.RateLimit")
+@Label("Rate Limit Decision")
+@Category({"Mock Employee Server", "Rate Limit"})
+@Description("Request limiter decision for one employee request")
+@StackTrace(false)
+public class RateLimitEvent extends Event {
+
+    @Label("Mode")
+    private String mode;
+
+    @Label("Admitted")
+    private boolean admitted;
+
+    public static RateLimitEvent start(String mode) {
+        final var event = new RateLimitEvent();
+        if (event.isEnabled()) {
+            event.mode = mode;
+            event.begin();
+        }
+        return event;
+    }
+
+    public void commit(boolean admitted) {
+        this.admitted = admitted;
+        commit();
+    }
+}
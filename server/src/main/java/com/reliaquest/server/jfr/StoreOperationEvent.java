@@ -0,0 +1,36 @@
+package com.reliaquest.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * One employee store operation of a tenant's roster, including waits for durability. Recorded
+ * without a stack trace; the event is a no-op unless a recording enables it.
+ */
+@Name("com.reliaquest.server.StoreOperation")
+@Label("Store Operation")
+@Category({"Mock Employee Server", "Store"})
+@Description("Employee store operation of one tenant roster")
+@StackTrace(false)
+public class StoreOperationEvent extends Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Tenant")
+    private String tenant;
+
+    public static StoreOperationEvent start(String operation, String tenant) {
+        final var event = new StoreOperationEvent();
+        if (event.isEnabled()) {
+            event.operation = operation;
+            event.tenant = tenant;
+            event.begin();
+        }
+        return event;
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * Outcome of one item of a batch request. Index is the item's position in the request; status is the
+ * HTTP status the item would have had as a single request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult<T>(int index, int status, T data, String error) {
+
+    public static <T> BatchResult<T> ok(int index, T data) {
+        return new BatchResult<>(index, 200, data, null);
+    }
+
+    public static <T> BatchResult<T> notFound(int index) {
+        return new BatchResult<>(index, 404, null, null);
+    }
+
+    public static <T> BatchResult<T> invalid(int index, String error) {
+        return new BatchResult<>(index, 400, null, error);
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.server.model;
+
+import java.util.Locale;
+
+/*
+ * Optional search criteria for the roster; null criteria match everything. Names match by
+ * substring of their case-folded form, titles exactly.
+ */
+public record EmployeeFilter(
+        String nameContains, Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title) {
+
+    public EmployeeFilter {
+        nameContains = nameContains == null || nameContains.isEmpty() ? null : fold(nameContains);
+        title = title == null || title.isEmpty() ? null : title;
+    }
+
+    public boolean isEmpty() {
+        return nameContains == null
+                && minSalary == null
+                && maxSalary == null
+                && minAge == null
+                && maxAge == null
+                && title == null;
+    }
+
+    public boolean matches(MockEmployee employee) {
+        return matchesName(employee.getName())
+                && inRange(employee.getSalary(), minSalary, maxSalary)
+                && inRange(employee.getAge(), minAge, maxAge)
+                && (title == null || title.equals(employee.getTitle()));
+    }
+
+    public boolean matchesName(String name) {
+        return nameContains == null
+                || (name != null && fold(name).contains(nameContains));
+    }
+
+    /*
+     * Case folding shared with the stores' name indexes.
+     */
+    public static String fold(String name) {
+        return name.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean inRange(Integer value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
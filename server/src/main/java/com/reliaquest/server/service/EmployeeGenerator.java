@@ -0,0 +1,111 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Generates random employees in parallel chunks. Each chunk has its own Faker seeded from the
+ * generator seed, the tenant and the chunk's position within the store it fills, so the same seed
+ * always yields the same roster for a tenant, in the same order, however many cores do the work and
+ * whatever other tenants were generated before it. A store's positions start at its size when it is
+ * first seen, so seeding a recovered store continues past the employees it already holds. Chunks
+ * are added to the store in order as soon as they and their predecessors are ready, so insertion
+ * overlaps the generation of later chunks. The Faker locale is fixed by configuration rather than
+ * taken from the host, so a seed means the same roster everywhere.
+ */
+@Slf4j
+@Component
+public class EmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 10_000;
+
+    private final long seed;
+    private final Locale locale;
+    // Next position per store, by identity; forgotten along with the store
+    private final Map<EmployeeStore, AtomicLong> nextIndex = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public EmployeeGenerator(
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.locale:en-US}") String locale) {
+        this.seed = seed != null ? seed : RandomGenerator.getDefault().nextLong();
+        this.locale = Locale.forLanguageTag(locale);
+        log.info("Generating {} employees with seed {}", this.locale.toLanguageTag(), this.seed);
+    }
+
+    /*
+     * Adds count newly generated employees to the tenant's store, returning how many were added.
+     */
+    public int generate(String tenantId, int count, EmployeeStore store) {
+        final long started = System.nanoTime();
+        final long tenantSeed = mix(seed, tenantId.hashCode());
+        final long firstIndex = nextIndex
+                .computeIfAbsent(store, ignored -> new AtomicLong(store.size()))
+                .getAndAdd(count);
+        final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final var added = new AtomicInteger();
+        IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(
+                        tenantSeed,
+                        firstIndex + (long) chunk * CHUNK_SIZE,
+                        Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .forEachOrdered(chunk -> {
+                    for (MockEmployee employee : chunk) {
+                        if (store.add(employee)) {
+                            added.incrementAndGet();
+                        }
+                    }
+                });
+        log.info("Generated {} employees in {} ms", added.get(), (System.nanoTime() - started) / 1_000_000);
+        return added.get();
+    }
+
+    private List<MockEmployee> generateChunk(long tenantSeed, long firstIndex, int size) {
+        final var random = new Random(mix(tenantSeed, firstIndex));
+        final var faker = new Faker(locale, random);
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    // Version 4 layout, like UUID.randomUUID(), but drawn from the seeded random
+    private static UUID randomUuid(Random random) {
+        final long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static long mix(long seed, long index) {
+        long z = seed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,18 +1,25 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeFilter;
 import com.reliaquest.server.model.MockEmployee;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -22,37 +29,174 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final TenantRosters tenantRosters;
 
-    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+    private final EmployeeGenerator employeeGenerator;
+
+    private final Validator validator;
+
+    @Value("${mock.batch.max-items:1000}")
+    private int maxBatchItems;
+
+    /*
+     * Every operation takes the X-Tenant-Id header value and works on that tenant's roster only;
+     * without the header, on the default tenant's.
+     */
+    public List<MockEmployee> getMockEmployees(String tenant) {
+        return tenantRosters.get(tenant).getStore().list();
+    }
+
+    public int size(String tenant) {
+        return tenantRosters.get(tenant).getStore().size();
+    }
+
+    public Optional<Integer> highestSalary(String tenant) {
+        return tenantRosters.get(tenant).getAggregates().highestSalary();
+    }
+
+    public List<MockEmployee> topEarners(String tenant, int limit) {
+        return tenantRosters.get(tenant).getAggregates().topEarners(limit);
+    }
+
+    public RosterSnapshotCache.RosterSnapshot getRosterSnapshot(String tenant) {
+        return tenantRosters.get(tenant).getSnapshotCache().current();
+    }
+
+    public List<MockEmployee> search(String tenant, @NonNull EmployeeFilter filter) {
+        return tenantRosters.get(tenant).getStore().search(filter);
+    }
+
+    public Optional<MockEmployee> findById(String tenant, @NonNull UUID uuid) {
+        return tenantRosters.get(tenant).getStore().findById(uuid);
+    }
+
+    public MockEmployee create(String tenant, @NonNull CreateMockEmployeeInput input, String idempotencyKey) {
+        final var roster = tenantRosters.get(tenant);
+        final var mockEmployee = roster.createOnce(idempotencyKey, input, () -> add(roster, input));
+        roster.awaitDurable();
+        return mockEmployee;
+    }
+
+    /*
+     * Items are validated and created one by one, then made durable together. With an idempotency
+     * key the batch is created once and its results are replayed to retries, taking a single key
+     * however large the batch is.
+     */
+    public List<BatchResult<MockEmployee>> createAll(
+            String tenant, @NonNull List<CreateMockEmployeeInput> inputs, String idempotencyKey) {
+        checkBatchSize(inputs.size());
+        final var roster = tenantRosters.get(tenant);
+        final var results = roster.createBatchOnce(idempotencyKey, inputs, () -> createEach(roster, inputs));
+        roster.awaitDurable();
+        return results;
+    }
+
+    private List<BatchResult<MockEmployee>> createEach(TenantRoster roster, List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchResult<MockEmployee>>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            final var violations = input == null ? null : validator.validate(input);
+            if (input == null || !violations.isEmpty()) {
+                results.add(BatchResult.invalid(i, input == null ? "Employee is required" : describe(violations)));
+                continue;
+            }
+            results.add(BatchResult.ok(i, add(roster, input)));
+        }
+        return List.copyOf(results);
+    }
+
+    public List<BatchResult<MockEmployee>> findAll(String tenant, @NonNull List<String> ids) {
+        checkBatchSize(ids.size());
+        final var store = tenantRosters.get(tenant).getStore();
+        final var results = new ArrayList<BatchResult<MockEmployee>>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            final var uuid = parseId(ids.get(i));
+            if (uuid == null) {
+                results.add(BatchResult.invalid(i, "Invalid employee id"));
+                continue;
+            }
+            final var mockEmployee = store.findById(uuid);
+            results.add(mockEmployee.isPresent() ? BatchResult.ok(i, mockEmployee.get()) : BatchResult.notFound(i));
+        }
+        return results;
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+    public List<BatchResult<MockEmployee>> deleteAll(String tenant, @NonNull List<String> ids) {
+        checkBatchSize(ids.size());
+        final var roster = tenantRosters.get(tenant);
+        final var results = new ArrayList<BatchResult<MockEmployee>>(ids.size());
+        boolean removed = false;
+        for (int i = 0; i < ids.size(); i++) {
+            final var uuid = parseId(ids.get(i));
+            if (uuid == null) {
+                results.add(BatchResult.invalid(i, "Invalid employee id"));
+                continue;
+            }
+            final var mockEmployee = roster.getStore().removeById(uuid);
+            removed |= mockEmployee.isPresent();
+            results.add(mockEmployee.isPresent() ? BatchResult.ok(i, mockEmployee.get()) : BatchResult.notFound(i));
+        }
+        if (removed) {
+            roster.awaitDurable();
+        }
+        return results;
+    }
+
+    private MockEmployee add(TenantRoster roster, CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
+        roster.getStore().add(mockEmployee);
+        log.debug("Added employee to tenant {}: {}", roster.getTenantId(), mockEmployee);
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+    private void checkBatchSize(int size) {
+        if (size > maxBatchItems) {
+            throw new InvalidRequestException("Batches are limited to " + maxBatchItems + " items");
+        }
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return id == null ? null : UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String describe(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    public int seed(String tenant, int count) {
+        final var roster = tenantRosters.get(tenant);
+        final int added = employeeGenerator.generate(roster.getTenantId(), count, roster.getStore());
+        roster.awaitDurable();
+        return added;
+    }
+
+    public Optional<MockEmployee> deleteById(String tenant, @NonNull UUID uuid) {
+        final var roster = tenantRosters.get(tenant);
+        final var mockEmployee = roster.getStore().removeById(uuid);
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+            roster.awaitDurable();
         }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
 
-        return false;
+    public boolean delete(String tenant, @NonNull DeleteMockEmployeeInput input) {
+        final var roster = tenantRosters.get(tenant);
+        final var mockEmployee = roster.getStore().removeFirstByName(input.getName());
+        if (mockEmployee.isPresent()) {
+            roster.awaitDurable();
+        }
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
     }
 }
@@ -0,0 +1,165 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Running salary aggregates of one tenant roster, updated by every create and delete.
+ *
+ * Keeps the top earners, up to a fixed capacity, so the highest salary and top-K questions are
+ * answered without touching the roster. The set always holds the exact top of the roster; once
+ * deletes shrink it below what a query needs while other employees were left out, it is rebuilt
+ * from one scan of the store.
+ */
+@Slf4j
+public class RosterAggregates implements EmployeeStore.MutationListener {
+
+    private static final Comparator<MockEmployee> BY_SALARY_DESCENDING = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.<Integer>reverseOrder())
+            .thenComparing(MockEmployee::getId);
+
+    private final EmployeeStore employeeStore;
+    private final int capacity;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    // Guarded by this
+    private TopEarners topEarners;
+    private List<Runnable> eventsDuringRebuild;
+
+    public RosterAggregates(EmployeeStore employeeStore, int capacity) {
+        this.employeeStore = employeeStore;
+        this.capacity = capacity;
+        this.topEarners = new TopEarners(capacity, true);
+        employeeStore.addMutationListener(this);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public Optional<Integer> highestSalary() {
+        return topEarners(1).stream().findFirst().map(MockEmployee::getSalary);
+    }
+
+    /*
+     * Returns up to limit employees with the highest salaries, highest first.
+     */
+    public List<MockEmployee> topEarners(int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new InvalidRequestException("limit must be between 1 and " + capacity);
+        }
+        while (true) {
+            synchronized (this) {
+                if (topEarners.canAnswer(limit)) {
+                    return topEarners.first(limit);
+                }
+            }
+            rebuild();
+        }
+    }
+
+    @Override
+    public synchronized void onAdded(MockEmployee employee) {
+        if (employee.getSalary() != null) {
+            topEarners.add(employee);
+            if (eventsDuringRebuild != null) {
+                eventsDuringRebuild.add(() -> topEarners.add(employee));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onRemoved(MockEmployee employee) {
+        if (employee.getSalary() != null) {
+            topEarners.remove(employee);
+            if (eventsDuringRebuild != null) {
+                eventsDuringRebuild.add(() -> topEarners.remove(employee));
+            }
+        }
+    }
+
+    // Scans without holding this monitor, since listeners are called under the store's locks.
+    // Mutations made during the scan are recorded and replayed onto the result, so whether the scan
+    // saw them or not the rebuilt set ends up exact.
+    private void rebuild() {
+        rebuildLock.lock();
+        try {
+            synchronized (this) {
+                if (!topEarners.truncated || topEarners.size() >= capacity) {
+                    return;
+                }
+                eventsDuringRebuild = new ArrayList<>();
+            }
+            final var rebuilt = new TopEarners(capacity, false);
+            employeeStore.forEach(employee -> {
+                if (employee.getSalary() != null) {
+                    rebuilt.offer(employee);
+                }
+            });
+            synchronized (this) {
+                topEarners = rebuilt;
+                eventsDuringRebuild.forEach(Runnable::run);
+                eventsDuringRebuild = null;
+            }
+            log.debug("Rebuilt top earners from the roster");
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /*
+     * Exact top of the salaried roster. When truncated, employees ranking below the last element
+     * may exist but are not held.
+     */
+    private static final class TopEarners {
+
+        private final int capacity;
+        private final TreeSet<MockEmployee> employees = new TreeSet<>(BY_SALARY_DESCENDING);
+        private boolean truncated;
+
+        private TopEarners(int capacity, boolean truncated) {
+            this.capacity = capacity;
+            this.truncated = truncated;
+        }
+
+        private boolean canAnswer(int limit) {
+            return !truncated || employees.size() >= limit;
+        }
+
+        private List<MockEmployee> first(int limit) {
+            return employees.stream().limit(limit).toList();
+        }
+
+        private int size() {
+            return employees.size();
+        }
+
+        // Used while scanning: every employee is offered, so the kept set stays exact
+        private void offer(MockEmployee employee) {
+            employees.add(employee);
+            if (employees.size() > capacity) {
+                employees.pollLast();
+                truncated = true;
+            }
+        }
+
+        private void add(MockEmployee employee) {
+            // When truncated, only an employee ranking above the last one is known to belong to the top
+            if (!truncated || (!employees.isEmpty() && BY_SALARY_DESCENDING.compare(employee, employees.last()) < 0)) {
+                offer(employee);
+            }
+        }
+
+        private void remove(MockEmployee employee) {
+            employees.remove(employee);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.store.EmployeeStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * The roster response only changes when the store does, so it is serialized and gzipped once per
+ * store version and then served straight from the cached buffers. One per tenant roster, with its
+ * hits, rebuilds and snapshot sizes metered under the tenant's tag.
+ */
+@Slf4j
+public class RosterSnapshotCache {
+
+    private final EmployeeStore employeeStore;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Timer buildTime;
+
+    private final DistributionSummary jsonBytes;
+
+    private volatile RosterSnapshot current;
+
+    public RosterSnapshotCache(
+            EmployeeStore employeeStore, ObjectMapper objectMapper, MeterRegistry meterRegistry, String tenantId) {
+        this.employeeStore = employeeStore;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("mock.roster.snapshot.requests")
+                .tag("tenant", tenantId)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("mock.roster.snapshot.requests")
+                .tag("tenant", tenantId)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.buildTime = Timer.builder("mock.roster.snapshot.build")
+                .description("Time to serialize and gzip the roster")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        this.jsonBytes = DistributionSummary.builder("mock.roster.snapshot.size")
+                .baseUnit("bytes")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+    }
+
+    public RosterSnapshot current() {
+        final var snapshot = current;
+        if (snapshot != null && snapshot.version() == employeeStore.version()) {
+            hits.increment();
+            return snapshot;
+        }
+        return rebuild();
+    }
+
+    // Synchronized so a burst of reads after a mutation builds the snapshot once
+    private synchronized RosterSnapshot rebuild() {
+        final long version = employeeStore.version();
+        if (current != null && current.version() == version) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        final long start = System.nanoTime();
+        final var json = serialize();
+        final var snapshot = new RosterSnapshot(version, json, gzip(json));
+        buildTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        jsonBytes.record(json.length);
+        log.debug(
+                "Built roster snapshot version {}: {} bytes, {} gzipped", version, json.length, snapshot.gzip().length);
+        current = snapshot;
+        return snapshot;
+    }
+
+    // Streams rows straight from the store, so no roster-sized list is built just to serialize it
+    private byte[] serialize() {
+        final var buffer = new ByteArrayOutputStream(256 + Math.min(employeeStore.size(), 1 << 20) * 160);
+        final var rowWriter = objectMapper.writerFor(MockEmployee.class);
+        try (var generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            employeeStore.forEach(employee -> {
+                try {
+                    rowWriter.writeValue(generator, employee);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+            generator.writeStringField("status", Response.Status.HANDLED.getValue());
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        final var buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (var gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /*
+     * Immutable view of the roster at one store version. The byte arrays are shared by every
+     * response and must not be modified.
+     */
+    public record RosterSnapshot(long version, byte[] json, byte[] gzip) {}
+}
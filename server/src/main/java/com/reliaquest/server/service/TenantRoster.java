@@ -0,0 +1,132 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.jfr.StoreOperationEvent;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.StorePersistence;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Everything one tenant's requests touch: its own store, with its own shards and locks, the roster
+ * snapshot and aggregates maintained over it, and the idempotency keys of its creates. Nothing is
+ * shared between tenants, so one tenant's writes and scans never wait on another's.
+ */
+@Slf4j
+@Getter
+public class TenantRoster {
+
+    private final String tenantId;
+
+    private final EmployeeStore store;
+
+    private final RosterSnapshotCache snapshotCache;
+
+    private final RosterAggregates aggregates;
+
+    // Only the default tenant's store is persisted
+    private final StorePersistence persistence;
+
+    /*
+     * Creates keyed by Idempotency-Key, so a client retrying after a lost response gets the
+     * employee, or the batch results, created by its first attempt. A batch is one entry however
+     * many items it carries. Each key keeps the request it was issued for, and reusing it for a
+     * different request is rejected. Bounded, oldest keys are forgotten first.
+     */
+    private final int maxIdempotencyKeys;
+    private final Map<String, IdempotentCreate> idempotentCreates = new ConcurrentHashMap<>();
+    private final Queue<String> idempotencyKeys = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idempotencyKeyCount = new AtomicInteger();
+
+    public TenantRoster(
+            String tenantId,
+            EmployeeStore store,
+            RosterSnapshotCache snapshotCache,
+            RosterAggregates aggregates,
+            StorePersistence persistence,
+            int maxIdempotencyKeys) {
+        this.tenantId = tenantId;
+        this.store = store;
+        this.snapshotCache = snapshotCache;
+        this.aggregates = aggregates;
+        this.persistence = persistence;
+        this.maxIdempotencyKeys = maxIdempotencyKeys;
+    }
+
+    public void awaitDurable() {
+        if (persistence != null) {
+            final var event = StoreOperationEvent.start("awaitDurable", tenantId);
+            try {
+                persistence.awaitDurable();
+            } finally {
+                event.commit();
+            }
+        }
+    }
+
+    // Creates at most once per idempotency key, without waiting for durability
+    MockEmployee createOnce(String idempotencyKey, Object request, Supplier<MockEmployee> create) {
+        return once(idempotencyKey, request, create);
+    }
+
+    // Creates a whole batch at most once per idempotency key; batch keys never collide with single ones
+    <T> T createBatchOnce(String idempotencyKey, Object request, Supplier<T> create) {
+        return once(
+                idempotencyKey == null || idempotencyKey.isBlank() ? null : "batch:" + idempotencyKey, request, create);
+    }
+
+    /*
+     * The first request for a key leaves a placeholder in the map and creates outside of it, so no
+     * map bin stays locked while a batch is created. Retries arriving meanwhile wait for its
+     * result. A failed create is forgotten, so it can be retried.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T once(String idempotencyKey, Object request, Supplier<T> create) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return create.get();
+        }
+        final var mine = new IdempotentCreate(request, new CompletableFuture<>());
+        final var existing = idempotentCreates.putIfAbsent(idempotencyKey, mine);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new InvalidRequestException("Idempotency-Key was already used for a different request");
+            }
+            log.debug("Replayed create for idempotency key {}", idempotencyKey);
+            try {
+                return (T) existing.result().join();
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+        final T result;
+        try {
+            result = create.get();
+        } catch (RuntimeException ex) {
+            idempotentCreates.remove(idempotencyKey, mine);
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        }
+        mine.result().complete(result);
+        idempotencyKeys.add(idempotencyKey);
+        if (idempotencyKeyCount.incrementAndGet() > maxIdempotencyKeys) {
+            final var oldest = idempotencyKeys.poll();
+            if (oldest != null) {
+                idempotencyKeyCount.decrementAndGet();
+                idempotentCreates.remove(oldest);
+            }
+        }
+        return result;
+    }
+
+    private record IdempotentCreate(Object request, CompletableFuture<Object> result) {}
+}
@@ -0,0 +1,139 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.RecordingEmployeeStore;
+import com.reliaquest.server.store.StorePersistence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/*
+ * Tenant rosters by tenant id, taken from the X-Tenant-Id header. Requests without the header use
+ * the default tenant, whose store is the (possibly persisted) employeeStore bean. Other tenants get
+ * an in-memory store of the configured type on first use, seeded with a generated roster like the
+ * default one, up to mock.tenants.max tenants besides the default. Store sizes are gauged per tenant.
+ */
+@Slf4j
+@Component
+public class TenantRosters {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    public static final String DEFAULT_TENANT = "default";
+
+    // Not a valid tenant id, so it never names a roster
+    public static final String UNKNOWN_TENANT = "?";
+
+    private static final Pattern TENANT_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,63}");
+
+    private final Map<String, TenantRoster> rosters = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    private final EmployeeGenerator employeeGenerator;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int topK;
+
+    private final int maxIdempotencyKeys;
+
+    private final int maxTenants;
+
+    private final int maxEmployees;
+
+    private final String storeType;
+
+    private final int shards;
+
+    public TenantRosters(
+            EmployeeStore employeeStore,
+            ObjectProvider<StorePersistence> storePersistence,
+            ObjectMapper objectMapper,
+            EmployeeGenerator employeeGenerator,
+            MeterRegistry meterRegistry,
+            @Value("${mock.aggregates.top-k:100}") int topK,
+            @Value("${mock.idempotency.max-keys:10000}") int maxIdempotencyKeys,
+            @Value("${mock.tenants.max:100}") int maxTenants,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.store.type:sharded}") String storeType,
+            @Value("${mock.store.shards:0}") int shards) {
+        this.objectMapper = objectMapper;
+        this.employeeGenerator = employeeGenerator;
+        this.meterRegistry = meterRegistry;
+        this.topK = topK;
+        this.maxIdempotencyKeys = maxIdempotencyKeys;
+        this.maxTenants = maxTenants;
+        this.maxEmployees = maxEmployees;
+        this.storeType = storeType;
+        this.shards = shards;
+        rosters.put(DEFAULT_TENANT, rosterOver(DEFAULT_TENANT, employeeStore, storePersistence.getIfAvailable()));
+    }
+
+    /*
+     * Returns the roster of the tenant named by the header value, creating it on first use.
+     */
+    public TenantRoster get(String tenantHeader) {
+        final var tenantId = tenantIdOf(tenantHeader);
+        final var roster = rosters.get(tenantId);
+        return roster != null ? roster : create(tenantId);
+    }
+
+    /*
+     * Returns the tenant the header value resolves to if it has a roster, or else UNKNOWN_TENANT, so
+     * budgets keyed on it cannot be reset by sending new tenant names. Never creates a roster.
+     */
+    public String resolve(String tenantHeader) {
+        final var tenantId = tenantIdOf(tenantHeader);
+        return rosters.containsKey(tenantId) ? tenantId : UNKNOWN_TENANT;
+    }
+
+    private static String tenantIdOf(String tenantHeader) {
+        return tenantHeader == null || tenantHeader.isBlank() ? DEFAULT_TENANT : tenantHeader.strip();
+    }
+
+    // Rare, so creation is serialized; the tenant cap is checked and the roster seeded only once
+    private synchronized TenantRoster create(String tenantId) {
+        final var existing = rosters.get(tenantId);
+        if (existing != null) {
+            return existing;
+        }
+        if (!TENANT_ID.matcher(tenantId).matches()) {
+            throw new InvalidRequestException("Invalid tenant id");
+        }
+        // The default tenant does not count against the limit
+        if (rosters.size() > maxTenants) {
+            throw new InvalidRequestException("Tenant limit of " + maxTenants + " reached");
+        }
+        final var store = ServerConfiguration.createStore(storeType, shards);
+        employeeGenerator.generate(tenantId, maxEmployees, store);
+        final var roster = rosterOver(tenantId, store, null);
+        log.info("Created roster for tenant {} with {} employees", tenantId, store.size());
+        rosters.put(tenantId, roster);
+        return roster;
+    }
+
+    private TenantRoster rosterOver(String tenantId, EmployeeStore store, StorePersistence persistence) {
+        Gauge.builder("mock.store.employees", store, EmployeeStore::size)
+                .description("Employees in the tenant's store")
+                .tag("tenant", tenantId)
+                .register(meterRegistry);
+        // Request paths go through the recording store; the caches are metered on their own
+        return new TenantRoster(
+                tenantId,
+                new RecordingEmployeeStore(store, tenantId),
+                new RosterSnapshotCache(store, objectMapper, meterRegistry, tenantId),
+                new RosterAggregates(store, topK),
+                persistence,
+                maxIdempotencyKeys);
+    }
+}
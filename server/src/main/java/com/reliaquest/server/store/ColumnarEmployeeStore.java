@@ -0,0 +1,381 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Employee store for very large rosters that keeps no object per employee.
+ *
+ * <p>Rows live in primitive columns: the id as two longs, salary and age as ints, and the title as
+ * a code into a dictionary of distinct titles. Names and emails are UTF-8 in an {@link OffHeapArena}.
+ * Ids are found through an open-addressing hash table of row numbers, and names through insertion
+ * ordered chains per name hash bucket. {@link MockEmployee} views are only built for rows being
+ * returned or serialized, so heap use and GC work hardly grow with the number of rows.
+ *
+ * <p>Removed rows are tombstoned and reclaimed, together with their arena space, when the columns
+ * would otherwise have to grow. Reads share a read lock; mutations are serialized by the write lock.
+ * Full scans through {@link #forEach} visit a copy taken under the read lock, so slow consumers such
+ * as serialization and snapshot writes never hold back writers.
+ */
+@Slf4j
+public class ColumnarEmployeeStore implements EmployeeStore {
+
+    private static final int NONE = -1;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong version = new AtomicLong();
+    private final List<MutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+
+    // Guarded by lock
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private int[] salary = new int[INITIAL_CAPACITY];
+    private int[] age = new int[INITIAL_CAPACITY];
+    private int[] titleCode = new int[INITIAL_CAPACITY];
+    private long[] nameRef = new long[INITIAL_CAPACITY];
+    private long[] emailRef = new long[INITIAL_CAPACITY];
+    private int[] nameHash = new int[INITIAL_CAPACITY];
+    private int[] nameNext = new int[INITIAL_CAPACITY];
+    private int[] namePrev = new int[INITIAL_CAPACITY];
+    private final BitSet removed = new BitSet();
+    private int rows;
+    private int live;
+
+    private int[] idSlots;
+    private int[] nameHeads;
+    private int[] nameTails;
+
+    private OffHeapArena arena = new OffHeapArena();
+    private final Map<String, Integer> titleCodes = new HashMap<>();
+    private final List<String> titles = new ArrayList<>();
+
+    public ColumnarEmployeeStore() {
+        rebuildIndexes();
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        lock.readLock().lock();
+        try {
+            final int row = findRow(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return row == NONE ? Optional.empty() : Optional.of(view(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean add(@NonNull MockEmployee employee) {
+        final var id = employee.getId();
+        lock.writeLock().lock();
+        try {
+            if (findRow(id.getMostSignificantBits(), id.getLeastSignificantBits()) != NONE) {
+                return false;
+            }
+            notify(listener -> listener.onAdded(employee));
+            ensureCapacity();
+            final int row = rows++;
+            idHigh[row] = id.getMostSignificantBits();
+            idLow[row] = id.getLeastSignificantBits();
+            salary[row] = employee.getSalary() == null ? NULL_INT : employee.getSalary();
+            age[row] = employee.getAge() == null ? NULL_INT : employee.getAge();
+            titleCode[row] = encodeTitle(employee.getTitle());
+            nameRef[row] = arena.put(employee.getName());
+            emailRef[row] = arena.put(employee.getEmail());
+            nameHash[row] = employee.getName() == null ? 0 : EmployeeFilter.fold(employee.getName()).hashCode();
+            insertId(row);
+            linkName(row);
+            live++;
+            version.incrementAndGet();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        lock.writeLock().lock();
+        try {
+            final int row = findRow(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            return row == NONE ? Optional.empty() : Optional.of(remove(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var folded = EmployeeFilter.fold(name);
+        final int hash = folded.hashCode();
+        lock.writeLock().lock();
+        try {
+            for (int row = nameHeads[hash & (nameHeads.length - 1)]; row != NONE; row = nameNext[row]) {
+                if (nameHash[row] == hash && folded.equals(EmployeeFilter.fold(arena.get(nameRef[row])))) {
+                    return Optional.of(remove(row));
+                }
+            }
+            return Optional.empty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        lock.readLock().lock();
+        try {
+            final List<MockEmployee> employees = new ArrayList<>(live);
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                employees.add(view(row));
+            }
+            return Collections.unmodifiableList(employees);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scans the primitive columns, decoding names only when the filter needs them and materializing
+     * only matching rows.
+     */
+    @Override
+    public List<MockEmployee> search(EmployeeFilter filter) {
+        lock.readLock().lock();
+        try {
+            final int code = filter.title() == null ? NONE : titleCodes.getOrDefault(filter.title(), NONE);
+            if (filter.title() != null && code == NONE) {
+                return List.of();
+            }
+            final List<MockEmployee> matches = new ArrayList<>();
+            for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+                if ((code == NONE || titleCode[row] == code)
+                        && inRange(salary[row], filter.minSalary(), filter.maxSalary())
+                        && inRange(age[row], filter.minAge(), filter.maxAge())
+                        && (filter.nameContains() == null || filter.matchesName(arena.get(nameRef[row])))) {
+                    matches.add(view(row));
+                }
+            }
+            return Collections.unmodifiableList(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void addMutationListener(MutationListener listener) {
+        mutationListeners.add(listener);
+    }
+
+    private MockEmployee view(int row) {
+        return MockEmployee.builder()
+                .id(new UUID(idHigh[row], idLow[row]))
+                .name(arena.get(nameRef[row]))
+                .salary(salary[row] == NULL_INT ? null : salary[row])
+                .age(age[row] == NULL_INT ? null : age[row])
+                .title(titleCode[row] == NONE ? null : titles.get(titleCode[row]))
+                .email(arena.get(emailRef[row]))
+                .build();
+    }
+
+    private MockEmployee remove(int row) {
+        final var employee = view(row);
+        notify(listener -> listener.onRemoved(employee));
+        removeId(row);
+        unlinkName(row);
+        removed.set(row);
+        live--;
+        version.incrementAndGet();
+        return employee;
+    }
+
+    // Called while the write lock is held, before the mutation is applied
+    private void notify(Consumer<MutationListener> event) {
+        for (MutationListener listener : mutationListeners) {
+            event.accept(listener);
+        }
+    }
+
+    private int encodeTitle(String title) {
+        if (title == null) {
+            return NONE;
+        }
+        return titleCodes.computeIfAbsent(title, added -> {
+            titles.add(added);
+            return titles.size() - 1;
+        });
+    }
+
+    private void ensureCapacity() {
+        if (rows < idHigh.length) {
+            return;
+        }
+        if (rows - live >= rows / 2) {
+            compact();
+            return;
+        }
+        final int capacity = idHigh.length * 2;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        salary = Arrays.copyOf(salary, capacity);
+        age = Arrays.copyOf(age, capacity);
+        titleCode = Arrays.copyOf(titleCode, capacity);
+        nameRef = Arrays.copyOf(nameRef, capacity);
+        emailRef = Arrays.copyOf(emailRef, capacity);
+        nameHash = Arrays.copyOf(nameHash, capacity);
+        nameNext = Arrays.copyOf(nameNext, capacity);
+        namePrev = Arrays.copyOf(namePrev, capacity);
+        rebuildIndexes();
+    }
+
+    // Moves live rows over removed ones, keeping their order, and copies their strings to a new arena
+    private void compact() {
+        final var compacted = new OffHeapArena();
+        int target = 0;
+        for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+            idHigh[target] = idHigh[row];
+            idLow[target] = idLow[row];
+            salary[target] = salary[row];
+            age[target] = age[row];
+            titleCode[target] = titleCode[row];
+            nameRef[target] = compacted.put(arena.get(nameRef[row]));
+            emailRef[target] = compacted.put(arena.get(emailRef[row]));
+            nameHash[target] = nameHash[row];
+            target++;
+        }
+        log.debug("Compacted {} rows into {}", rows, target);
+        arena = compacted;
+        removed.clear();
+        rows = target;
+        rebuildIndexes();
+    }
+
+    private void rebuildIndexes() {
+        idSlots = new int[idHigh.length * 2];
+        nameHeads = new int[idHigh.length];
+        nameTails = new int[idHigh.length];
+        Arrays.fill(idSlots, NONE);
+        Arrays.fill(nameHeads, NONE);
+        Arrays.fill(nameTails, NONE);
+        for (int row = removed.nextClearBit(0); row < rows; row = removed.nextClearBit(row + 1)) {
+            insertId(row);
+            linkName(row);
+        }
+    }
+
+    private int findRow(long high, long low) {
+        final int mask = idSlots.length - 1;
+        for (int slot = hash(high, low) & mask; idSlots[slot] != NONE; slot = (slot + 1) & mask) {
+            final int row = idSlots[slot];
+            if (idHigh[row] == high && idLow[row] == low) {
+                return row;
+            }
+        }
+        return NONE;
+    }
+
+    private void insertId(int row) {
+        final int mask = idSlots.length - 1;
+        int slot = hash(idHigh[row], idLow[row]) & mask;
+        while (idSlots[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        idSlots[slot] = row;
+    }
+
+    // Backward-shift deletion keeps probe sequences intact without tombstones in the table
+    private void removeId(int row) {
+        final int mask = idSlots.length - 1;
+        int hole = hash(idHigh[row], idLow[row]) & mask;
+        while (idSlots[hole] != row) {
+            hole = (hole + 1) & mask;
+        }
+        for (int slot = (hole + 1) & mask; idSlots[slot] != NONE; slot = (slot + 1) & mask) {
+            final int candidate = idSlots[slot];
+            final int home = hash(idHigh[candidate], idLow[candidate]) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                idSlots[hole] = candidate;
+                hole = slot;
+            }
+        }
+        idSlots[hole] = NONE;
+    }
+
+    private void linkName(int row) {
+        nameNext[row] = NONE;
+        namePrev[row] = NONE;
+        if (nameRef[row] == OffHeapArena.NULL) {
+            return;
+        }
+        final int bucket = nameHash[row] & (nameHeads.length - 1);
+        final int tail = nameTails[bucket];
+        if (tail == NONE) {
+            nameHeads[bucket] = row;
+        } else {
+            nameNext[tail] = row;
+            namePrev[row] = tail;
+        }
+        nameTails[bucket] = row;
+    }
+
+    private void unlinkName(int row) {
+        if (nameRef[row] == OffHeapArena.NULL) {
+            return;
+        }
+        final int bucket = nameHash[row] & (nameHeads.length - 1);
+        if (namePrev[row] == NONE) {
+            nameHeads[bucket] = nameNext[row];
+        } else {
+            nameNext[namePrev[row]] = nameNext[row];
+        }
+        if (nameNext[row] == NONE) {
+            nameTails[bucket] = namePrev[row];
+        } else {
+            namePrev[nameNext[row]] = namePrev[row];
+        }
+    }
+
+    private static int hash(long high, long low) {
+        final long mixed = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static boolean inRange(int value, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != NULL_INT && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
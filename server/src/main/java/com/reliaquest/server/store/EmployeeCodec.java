@@ -0,0 +1,84 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/*
+ * Binary row layout shared by the write-ahead log and snapshots:
+ * id (2 longs), salary and age (int, MIN_VALUE for null), then name, title and email as
+ * length-prefixed UTF-8 (length -1 for null).
+ */
+final class EmployeeCodec {
+
+    private static final int NULL = Integer.MIN_VALUE;
+
+    private EmployeeCodec() {}
+
+    static byte[] encode(MockEmployee employee) {
+        final var name = utf8(employee.getName());
+        final var title = utf8(employee.getTitle());
+        final var email = utf8(employee.getEmail());
+        final var buffer = ByteBuffer.allocate(16 + 8 + length(name) + length(title) + length(email));
+        buffer.putLong(employee.getId().getMostSignificantBits());
+        buffer.putLong(employee.getId().getLeastSignificantBits());
+        buffer.putInt(employee.getSalary() == null ? NULL : employee.getSalary());
+        buffer.putInt(employee.getAge() == null ? NULL : employee.getAge());
+        putString(buffer, name);
+        putString(buffer, title);
+        putString(buffer, email);
+        return buffer.array();
+    }
+
+    static MockEmployee decode(ByteBuffer buffer) {
+        final var id = new UUID(buffer.getLong(), buffer.getLong());
+        final int salary = buffer.getInt();
+        final int age = buffer.getInt();
+        return MockEmployee.builder()
+                .id(id)
+                .salary(salary == NULL ? null : salary)
+                .age(age == NULL ? null : age)
+                .name(getString(buffer))
+                .title(getString(buffer))
+                .email(getString(buffer))
+                .build();
+    }
+
+    static byte[] encodeId(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID decodeId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Thread-safe roster of mock employees, in insertion order.
+ */
+public interface EmployeeStore {
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    /**
+     * Adds an employee, unless an employee with the same id is already stored.
+     *
+     * @return true if the employee was added
+     */
+    boolean add(@NonNull MockEmployee employee);
+
+    Optional<MockEmployee> removeById(@NonNull UUID id);
+
+    /**
+     * Removes the earliest inserted employee whose name matches ignoring case.
+     */
+    Optional<MockEmployee> removeFirstByName(@NonNull String name);
+
+    /**
+     * Lists all employees in insertion order.
+     */
+    List<MockEmployee> list();
+
+    /**
+     * Visits all employees in insertion order without collecting them first.
+     */
+    default void forEach(Consumer<MockEmployee> action) {
+        list().forEach(action);
+    }
+
+    /**
+     * Finds the employees matching the filter, in insertion order.
+     */
+    default List<MockEmployee> search(EmployeeFilter filter) {
+        return list().stream().filter(filter::matches).toList();
+    }
+
+    int size();
+
+    /**
+     * Returns a counter that changes after every mutation. A listing taken after reading the version
+     * reflects at least every mutation that version counts.
+     */
+    long version();
+
+    /**
+     * Registers a listener called for every later mutation, in the order mutations of any one
+     * employee were applied. Listeners run inside the store's locks and must be quick. They are
+     * called before the mutation is applied, in registration order: if one throws, the store is left
+     * unchanged and the exception propagates to the caller, so a write-ahead log registered first
+     * vetoes every mutation it could not record.
+     */
+    void addMutationListener(MutationListener listener);
+
+    interface MutationListener {
+
+        void onAdded(MockEmployee employee);
+
+        void onRemoved(MockEmployee employee);
+    }
+}
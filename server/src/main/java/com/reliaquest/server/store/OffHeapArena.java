@@ -0,0 +1,58 @@
+package com.reliaquest.server.store;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Append-only UTF-8 string storage in direct buffers, outside the Java heap.
+ *
+ * A string is addressed by a single long: its global offset in the upper 42 bits and its byte length
+ * in the lower 22. Strings never span chunks. Not thread-safe; the owning store guards it.
+ */
+final class OffHeapArena {
+
+    static final long NULL = -1L;
+
+    private static final int CHUNK_BITS = 24;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int LENGTH_BITS = 22;
+    private static final int MAX_LENGTH = (1 << LENGTH_BITS) - 1;
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private ByteBuffer tail;
+
+    long put(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes is too long to store");
+        }
+        if (tail == null || tail.remaining() < bytes.length) {
+            tail = ByteBuffer.allocateDirect(CHUNK_SIZE);
+            chunks.add(tail);
+        }
+        final long offset = ((long) (chunks.size() - 1) << CHUNK_BITS) | tail.position();
+        tail.put(bytes);
+        return (offset << LENGTH_BITS) | bytes.length;
+    }
+
+    String get(long ref) {
+        if (ref == NULL) {
+            return null;
+        }
+        final int length = (int) (ref & MAX_LENGTH);
+        final long offset = ref >>> LENGTH_BITS;
+        final var bytes = new byte[length];
+        // Absolute get leaves the shared buffer position alone, so concurrent readers are safe
+        chunks.get((int) (offset >>> CHUNK_BITS)).get((int) (offset & (CHUNK_SIZE - 1)), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    long offHeapBytes() {
+        return (long) chunks.size() * CHUNK_SIZE;
+    }
+}
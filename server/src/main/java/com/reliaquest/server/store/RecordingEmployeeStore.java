@@ -0,0 +1,111 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.jfr.StoreOperationEvent;
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/*
+ * Emits a StoreOperationEvent around every roster read and write of the delegate, tagged with the
+ * tenant. size, version and listener registration are passed through unrecorded.
+ */
+public class RecordingEmployeeStore implements EmployeeStore {
+
+    private final EmployeeStore delegate;
+
+    private final String tenant;
+
+    public RecordingEmployeeStore(EmployeeStore delegate, String tenant) {
+        this.delegate = delegate;
+        this.tenant = tenant;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var event = StoreOperationEvent.start("findById", tenant);
+        try {
+            return delegate.findById(id);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public boolean add(@NonNull MockEmployee employee) {
+        final var event = StoreOperationEvent.start("add", tenant);
+        try {
+            return delegate.add(employee);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final var event = StoreOperationEvent.start("removeById", tenant);
+        try {
+            return delegate.removeById(id);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var event = StoreOperationEvent.start("removeFirstByName", tenant);
+        try {
+            return delegate.removeFirstByName(name);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> list() {
+        final var event = StoreOperationEvent.start("list", tenant);
+        try {
+            return delegate.list();
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<MockEmployee> action) {
+        final var event = StoreOperationEvent.start("forEach", tenant);
+        try {
+            delegate.forEach(action);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public List<MockEmployee> search(EmployeeFilter filter) {
+        final var event = StoreOperationEvent.start("search", tenant);
+        try {
+            return delegate.search(filter);
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public long version() {
+        return delegate.version();
+    }
+
+    @Override
+    public void addMutationListener(MutationListener listener) {
+        delegate.addMutationListener(listener);
+    }
+}
@@ -0,0 +1,327 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Thread-safe employee store sharded by id hash.
+ *
+ * <p>Reads are lock-free: id lookups hit the owning shard's hash map directly. Writes take only the
+ * lock of the owning shard, so mutations of different shards proceed in parallel. Every employee is
+ * stamped with a global insertion sequence, and {@link #list()} merges the shards back into
+ * insertion order.
+ *
+ * <p>Secondary indexes map case-folded names and exact titles to the employees carrying them,
+ * ordered by insertion sequence, and order employees by salary. They are updated under the same shard lock as
+ * the primary entry, so they never disagree with it about an employee once its shard lock is
+ * released.
+ *
+ * <p>Every completed mutation bumps {@link #version()}, so derived views of the roster can be cached
+ * until the version moves on.
+ */
+public class ShardedEmployeeStore implements EmployeeStore {
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong version = new AtomicLong();
+    private final List<MutationListener> mutationListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, ConcurrentSkipListMap<Long, UUID>> byName = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentSkipListMap<Long, UUID>> byTitle = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<SalaryKey, UUID> bySalary = new ConcurrentSkipListMap<>();
+
+    public ShardedEmployeeStore(int shardCount) {
+        int count = 1;
+        while (count < shardCount) {
+            count <<= 1;
+        }
+        shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        shardMask = count - 1;
+    }
+
+    /**
+     * Creates a store with enough shards to keep write contention low on this machine.
+     */
+    public static ShardedEmployeeStore forAvailableProcessors() {
+        return new ShardedEmployeeStore(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var entry = shardFor(id).byId.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.employee());
+    }
+
+    @Override
+    public boolean add(@NonNull MockEmployee employee) {
+        final var shard = shardFor(employee.getId());
+        shard.lock.lock();
+        try {
+            if (shard.byId.containsKey(employee.getId())) {
+                return false;
+            }
+            notify(listener -> listener.onAdded(employee));
+            final var entry = new Entry(sequence.incrementAndGet(), employee);
+            shard.bySequence.put(entry.sequence(), employee);
+            shard.byId.put(employee.getId(), entry);
+            index(entry);
+            size.incrementAndGet();
+            version.incrementAndGet();
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final var shard = shardFor(id);
+        shard.lock.lock();
+        try {
+            final var entry = shard.byId.get(id);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            remove(shard, entry);
+            return Optional.of(entry.employee());
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var key = EmployeeFilter.fold(name);
+        while (true) {
+            final var matches = byName.get(key);
+            final var first = matches == null ? null : matches.firstEntry();
+            if (first == null) {
+                return Optional.empty();
+            }
+            final var shard = shardFor(first.getValue());
+            shard.lock.lock();
+            try {
+                final var entry = shard.byId.get(first.getValue());
+                // Otherwise a concurrent delete won the race for this employee; look again
+                if (entry != null && entry.sequence() == first.getKey()) {
+                    remove(shard, entry);
+                    return Optional.of(entry.employee());
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Lists all employees in insertion order. Concurrent mutations may or may not be reflected,
+     * but the listing never fails and never repeats an employee.
+     */
+    @Override
+    public List<MockEmployee> list() {
+        final PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(shards.length);
+        for (Shard shard : shards) {
+            final var cursor = new ShardCursor(shard.bySequence.entrySet().iterator());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        final List<MockEmployee> employees = new ArrayList<>(size.get());
+        while (!cursors.isEmpty()) {
+            final var cursor = cursors.poll();
+            employees.add(cursor.current.getValue());
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return Collections.unmodifiableList(employees);
+    }
+
+    /**
+     * Narrows the candidates to the smaller of the title bucket and the salary range the filter
+     * asks for, counting the range only as far as the size of the title bucket. With neither, names
+     * containing the filter's text are collected by scanning the distinct names, which spares a scan
+     * of every employee but is not an index lookup. Candidates are then checked against the whole
+     * filter in insertion order.
+     */
+    @Override
+    public List<MockEmployee> search(EmployeeFilter filter) {
+        final NavigableMap<Long, UUID> titled =
+                filter.title() == null ? null : byTitle.getOrDefault(filter.title(), new ConcurrentSkipListMap<>());
+        final NavigableMap<SalaryKey, UUID> salaried =
+                filter.minSalary() == null && filter.maxSalary() == null ? null : salaryRange(filter);
+        final NavigableMap<Long, UUID> candidates;
+        if (titled != null && (salaried == null || !hasFewerThan(salaried, titled.size()))) {
+            candidates = titled;
+        } else if (salaried != null) {
+            candidates = new TreeMap<>();
+            salaried.forEach((key, id) -> candidates.put(key.sequence(), id));
+        } else if (filter.nameContains() != null) {
+            candidates = new TreeMap<>();
+            byName.forEach((name, ids) -> {
+                if (name.contains(filter.nameContains())) {
+                    candidates.putAll(ids);
+                }
+            });
+        } else {
+            return list().stream().filter(filter::matches).toList();
+        }
+        final List<MockEmployee> matches = new ArrayList<>();
+        for (UUID id : candidates.values()) {
+            findById(id).filter(filter::matches).ifPresent(matches::add);
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    private NavigableMap<SalaryKey, UUID> salaryRange(EmployeeFilter filter) {
+        final var from = new SalaryKey(filter.minSalary() == null ? Integer.MIN_VALUE : filter.minSalary(), 0);
+        final var to =
+                new SalaryKey(filter.maxSalary() == null ? Integer.MAX_VALUE : filter.maxSalary(), Long.MAX_VALUE);
+        return from.compareTo(to) <= 0 ? bySalary.subMap(from, true, to, true) : Collections.emptyNavigableMap();
+    }
+
+    // Walks at most limit entries, where size() would count the whole range
+    private static boolean hasFewerThan(Map<?, ?> range, int limit) {
+        int count = 0;
+        for (Iterator<?> entries = range.keySet().iterator(); entries.hasNext() && count < limit; entries.next()) {
+            count++;
+        }
+        return count < limit;
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public long version() {
+        return version.get();
+    }
+
+    @Override
+    public void addMutationListener(MutationListener listener) {
+        mutationListeners.add(listener);
+    }
+
+    // Called while the shard lock is held, before the mutation is applied
+    private void notify(Consumer<MutationListener> event) {
+        for (MutationListener listener : mutationListeners) {
+            event.accept(listener);
+        }
+    }
+
+    // Caller holds the shard lock
+    private void remove(Shard shard, Entry entry) {
+        notify(listener -> listener.onRemoved(entry.employee()));
+        shard.byId.remove(entry.employee().getId());
+        shard.bySequence.remove(entry.sequence());
+        unindex(entry);
+        size.decrementAndGet();
+        version.incrementAndGet();
+    }
+
+    private void index(Entry entry) {
+        final var employee = entry.employee();
+        if (employee.getName() != null) {
+            addTo(byName, EmployeeFilter.fold(employee.getName()), entry);
+        }
+        if (employee.getTitle() != null) {
+            addTo(byTitle, employee.getTitle(), entry);
+        }
+        if (employee.getSalary() != null) {
+            bySalary.put(new SalaryKey(employee.getSalary(), entry.sequence()), employee.getId());
+        }
+    }
+
+    private void unindex(Entry entry) {
+        final var employee = entry.employee();
+        if (employee.getName() != null) {
+            removeFrom(byName, EmployeeFilter.fold(employee.getName()), entry);
+        }
+        if (employee.getTitle() != null) {
+            removeFrom(byTitle, employee.getTitle(), entry);
+        }
+        if (employee.getSalary() != null) {
+            bySalary.remove(new SalaryKey(employee.getSalary(), entry.sequence()));
+        }
+    }
+
+    private static void addTo(Map<String, ConcurrentSkipListMap<Long, UUID>> index, String key, Entry entry) {
+        index.compute(key, (ignored, ids) -> {
+            final var matches = ids != null ? ids : new ConcurrentSkipListMap<Long, UUID>();
+            matches.put(entry.sequence(), entry.employee().getId());
+            return matches;
+        });
+    }
+
+    private static void removeFrom(Map<String, ConcurrentSkipListMap<Long, UUID>> index, String key, Entry entry) {
+        index.computeIfPresent(key, (ignored, ids) -> {
+            ids.remove(entry.sequence());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private Shard shardFor(UUID id) {
+        final int hash = id.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private record Entry(long sequence, MockEmployee employee) {}
+
+    private record SalaryKey(int salary, long sequence) implements Comparable<SalaryKey> {
+
+        @Override
+        public int compareTo(SalaryKey other) {
+            final int bySalary = Integer.compare(salary, other.salary);
+            return bySalary != 0 ? bySalary : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<UUID, Entry> byId = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<Long, MockEmployee> bySequence = new ConcurrentSkipListMap<>();
+    }
+
+    private static final class ShardCursor implements Comparable<ShardCursor> {
+        private final Iterator<Map.Entry<Long, MockEmployee>> iterator;
+        private Map.Entry<Long, MockEmployee> current;
+
+        private ShardCursor(Iterator<Map.Entry<Long, MockEmployee>> iterator) {
+            this.iterator = iterator;
+        }
+
+        private boolean advance() {
+            current = iterator.hasNext() ? iterator.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public int compareTo(ShardCursor other) {
+            return Long.compare(current.getKey(), other.current.getKey());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional durability for {@link EmployeeStore}.
+ *
+ * <p>Creates and deletes are appended to a {@link WriteAheadLog}. Periodically the log is rotated
+ * and the store is written to a compact snapshot, after which older log segments are dropped. On
+ * startup the snapshot is read through memory-mapped windows and the remaining segments are
+ * replayed on top. The snapshot is taken while the store keeps changing, which is safe because
+ * every mutation after the rotation is also in the new segment, and replaying creates and deletes
+ * by id is idempotent.
+ */
+@Slf4j
+public class StorePersistence implements EmployeeStore.MutationListener, AutoCloseable {
+
+    private static final String SNAPSHOT = "snapshot.bin";
+    private static final int MAGIC = 0x4D454D50;
+    private static final int FORMAT = 1;
+    private static final long MAP_WINDOW = 256L << 20;
+
+    private final Path directory;
+    private final Duration snapshotInterval;
+
+    private EmployeeStore store;
+    private WriteAheadLog wal;
+    private ScheduledExecutorService snapshotScheduler;
+
+    public StorePersistence(Path directory, Duration snapshotInterval) {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Loads the persisted roster into an empty store and logs every later mutation of it.
+     */
+    public void recover(EmployeeStore store) throws IOException {
+        Files.createDirectories(directory);
+        final long started = System.nanoTime();
+        final long firstSegment = loadSnapshot(store);
+        long nextSegment = firstSegment;
+        long replayed = 0;
+        for (long segment : WriteAheadLog.segments(directory)) {
+            if (segment >= firstSegment) {
+                replayed += WriteAheadLog.replay(directory, segment, (type, payload) -> apply(store, type, payload));
+            }
+            nextSegment = Math.max(nextSegment, segment + 1);
+        }
+        WriteAheadLog.deleteSegmentsBefore(directory, firstSegment);
+        log.info(
+                "Recovered {} employees from {} ({} log records) in {} ms",
+                store.size(),
+                directory,
+                replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        this.store = store;
+        this.wal = new WriteAheadLog(directory, nextSegment);
+        store.addMutationListener(this);
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "store-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotScheduler.scheduleWithFixedDelay(
+                this::snapshotQuietly, snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Blocks until every mutation made so far has been written to disk.
+     */
+    public void awaitDurable() {
+        wal.awaitDurable();
+    }
+
+    @Override
+    public void onAdded(MockEmployee employee) {
+        wal.append(WriteAheadLog.CREATE, EmployeeCodec.encode(employee));
+    }
+
+    @Override
+    public void onRemoved(MockEmployee employee) {
+        wal.append(WriteAheadLog.DELETE, EmployeeCodec.encodeId(employee.getId()));
+    }
+
+    /**
+     * Writes the current roster to a new snapshot and drops the log segments it covers.
+     */
+    public synchronized void snapshot() throws IOException {
+        final long started = System.nanoTime();
+        final long firstSegment = wal.rotate();
+        final var temporary = directory.resolve(SNAPSHOT + ".tmp");
+        final int[] count = new int[1];
+        try (var channel = FileChannel.open(
+                        temporary,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+                var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(firstSegment);
+            out.writeInt(0);
+            store.forEach(employee -> {
+                final var row = EmployeeCodec.encode(employee);
+                try {
+                    out.writeInt(row.length);
+                    out.write(row);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                count[0]++;
+            });
+            out.flush();
+            // The row count follows magic, format and segment; it is only known once all rows are out
+            channel.write(ByteBuffer.allocate(4).putInt(0, count[0]), 16);
+            channel.force(true);
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        Files.move(temporary, directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE);
+        WriteAheadLog.deleteSegmentsBefore(directory, firstSegment);
+        log.info(
+                "Wrote snapshot of {} employees in {} ms",
+                count[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (wal == null) {
+            return;
+        }
+        snapshotScheduler.shutdownNow();
+        try (var closing = wal) {
+            snapshot();
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to write store snapshot", ex);
+        }
+    }
+
+    // Returns the first log segment not covered by the snapshot
+    private long loadSnapshot(EmployeeStore store) throws IOException {
+        final var file = directory.resolve(SNAPSHOT);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long base = 0;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size, MAP_WINDOW));
+            if (window.getInt() != MAGIC || window.getInt() != FORMAT) {
+                throw new IOException("Unrecognized store snapshot " + file);
+            }
+            final long firstSegment = window.getLong();
+            final int count = window.getInt();
+            for (int i = 0; i < count; i++) {
+                if (window.remaining() < 4 || window.remaining() < 4 + window.getInt(window.position())) {
+                    base += window.position();
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, base, Math.min(size - base, MAP_WINDOW));
+                }
+                final int length = window.getInt();
+                store.add(EmployeeCodec.decode(window.slice(window.position(), length)));
+                window.position(window.position() + length);
+            }
+            return firstSegment;
+        }
+    }
+
+    private static void apply(EmployeeStore store, byte type, ByteBuffer payload) {
+        switch (type) {
+            case WriteAheadLog.CREATE -> store.add(EmployeeCodec.decode(payload));
+            case WriteAheadLog.DELETE -> store.removeById(EmployeeCodec.decodeId(payload));
+            default -> throw new IllegalStateException("Unknown log record type " + type);
+        }
+    }
+}
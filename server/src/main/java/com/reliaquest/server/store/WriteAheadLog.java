@@ -0,0 +1,320 @@
+package com.reliaquest.server.store;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Append-only log of store mutations split into numbered segment files.
+ *
+ * Appends only copy the record into an in-memory buffer. A single flusher thread writes whatever
+ * has accumulated and fsyncs it, so all writers that appended while the previous fsync was running
+ * share the next one (group commit). Records are framed as length, CRC32 and type + payload, so a
+ * torn write at the tail is detected and ignored on replay.
+ *
+ * A failed write or fsync is terminal: the segment is cut back to its last durable record, the
+ * failed batch stays pending in memory, and every later append, rotation or durability wait fails
+ * instead of piling up records that can never be made durable.
+ */
+@Slf4j
+class WriteAheadLog implements AutoCloseable {
+
+    static final byte CREATE = 1;
+    static final byte DELETE = 2;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{20})\\.log");
+
+    private final Path directory;
+    private final Thread flusher;
+
+    // Guards the channel and the spare buffer; taken before lock
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileChannel channel;
+    private long segment;
+    private ByteBuffer spare = ByteBuffer.allocate(1 << 16);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    // Guarded by lock
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+    private long appendedLsn;
+    private long durableLsn;
+    private IOException failure;
+    private boolean closed;
+
+    WriteAheadLog(Path directory, long segment) throws IOException {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = open(segment);
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    void append(byte type, byte[] payload) {
+        final var crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Write-ahead log failed", failure);
+            }
+            ensureCapacity(9 + payload.length);
+            pending.putInt(1 + payload.length).putInt((int) crc.getValue()).put(type).put(payload);
+            appendedLsn++;
+            appended.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Blocks until every record appended so far is on disk.
+     */
+    void awaitDurable() {
+        lock.lock();
+        try {
+            final long lsn = appendedLsn;
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Write-ahead log failed", failure);
+                }
+                flushed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Makes everything appended so far durable in the current segment and starts a new one.
+     *
+     * @return the number of the new segment
+     */
+    long rotate() throws IOException {
+        ioLock.lock();
+        try {
+            flushPending();
+            channel.close();
+            segment++;
+            channel = open(segment);
+            return segment;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        ioLock.lock();
+        try (var closing = channel) {
+            flushPending();
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> SEGMENT_NAME.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static void deleteSegmentsBefore(Path directory, long segment) throws IOException {
+        for (long existing : segments(directory)) {
+            if (existing < segment) {
+                Files.deleteIfExists(segmentFile(directory, existing));
+            }
+        }
+    }
+
+    /*
+     * Feeds every intact record of a segment to the consumer, stopping at a torn or corrupt tail.
+     *
+     * @return the number of records replayed
+     */
+    static long replay(Path directory, long segment, BiConsumer<Byte, ByteBuffer> consumer) throws IOException {
+        final var file = segmentFile(directory, segment);
+        long remaining = Files.size(file);
+        long records = 0;
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                final int length;
+                final int checksum;
+                final byte[] record;
+                try {
+                    length = in.readInt();
+                    checksum = in.readInt();
+                    remaining -= 8;
+                    // A torn header can hold any length; never read past the end of the file
+                    if (length < 1 || length > remaining) {
+                        throw new EOFException();
+                    }
+                    record = in.readNBytes(length);
+                    remaining -= length;
+                } catch (EOFException ex) {
+                    if (remaining > 0) {
+                        log.warn("Ignoring torn tail of {} after {} records", file, records);
+                    }
+                    return records;
+                }
+                final var crc = new CRC32();
+                crc.update(record);
+                if (record.length < length || (int) crc.getValue() != checksum) {
+                    log.warn("Ignoring torn tail of {} after {} records", file, records);
+                    return records;
+                }
+                consumer.accept(record[0], ByteBuffer.wrap(record, 1, record.length - 1));
+                records++;
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            lock.lock();
+            try {
+                while (pending.position() == 0 && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (closed) {
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            ioLock.lock();
+            try {
+                flushPending();
+            } catch (IOException ex) {
+                log.error("Failed to write the write-ahead log, mutations can no longer be made durable", ex);
+                return;
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    // Caller holds ioLock
+    private void flushPending() throws IOException {
+        final ByteBuffer batch;
+        final long batchLsn;
+        final long batchStart;
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new IOException("Write-ahead log failed", failure);
+            }
+            if (pending.position() == 0) {
+                return;
+            }
+            try {
+                batchStart = channel.position();
+            } catch (IOException ex) {
+                failure = ex;
+                flushed.signalAll();
+                throw ex;
+            }
+            batch = pending;
+            pending = spare;
+            batchLsn = appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+        try {
+            batch.flip();
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            channel.force(false);
+        } catch (IOException ex) {
+            fail(batch, batchStart, ex);
+            throw ex;
+        }
+        spare = batch.clear();
+        lock.lock();
+        try {
+            durableLsn = batchLsn;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds ioLock. Cuts off the partial write and puts the batch back in front of whatever was
+    // appended meanwhile, on a buffer of its own, so pending and spare never share one.
+    private void fail(ByteBuffer batch, long batchStart, IOException ex) {
+        try {
+            if (channel.isOpen()) {
+                channel.truncate(batchStart);
+            }
+        } catch (IOException truncateFailure) {
+            ex.addSuppressed(truncateFailure);
+        }
+        lock.lock();
+        try {
+            failure = ex;
+            final var unwritten = ByteBuffer.allocate(batch.capacity() + pending.capacity());
+            unwritten.put(batch.rewind()).put(pending.flip());
+            pending = unwritten;
+            spare = ByteBuffer.allocate(1 << 16);
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds lock
+    private void ensureCapacity(int bytes) {
+        if (pending.remaining() < bytes) {
+            final var grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending = grown.put(pending.flip());
+        }
+    }
+
+    private FileChannel open(long segment) throws IOException {
+        return FileChannel.open(
+                segmentFile(directory, segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    private static Path segmentFile(Path directory, long segment) {
+        return directory.resolve("wal-%020d.log".formatted(segment));
+    }
+}
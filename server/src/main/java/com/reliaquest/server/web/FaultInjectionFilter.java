@@ -0,0 +1,98 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/*
+ * Makes the employee endpoints behave like a struggling upstream, according to the active fault
+ * profile: added latency, error statuses, dropped connections, truncated bodies and slow-drip
+ * responses. Every injected delay holds a request thread.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private final FaultProfiles faultProfiles;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !faultProfiles.isActive();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var faults = faultProfiles.faultsFor(
+                request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        if (faults == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final var random = ThreadLocalRandom.current();
+        sleep(FaultProfiles.sampleNanos(faults.getLatency(), random));
+
+        if (random.nextDouble() < faults.getErrorRate()) {
+            response.setStatus(faults.getErrorStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault"));
+            return;
+        }
+        if (random.nextDouble() < faults.getResetRate()) {
+            // Servlets cannot send a TCP reset; failing once headers are out makes Tomcat drop the connection
+            response.setContentLength(1);
+            response.flushBuffer();
+            throw new IOException("Injected connection reset");
+        }
+        final boolean truncate = random.nextDouble() < faults.getTruncateRate();
+        final boolean drip = random.nextDouble() < faults.getSlowDrip().getRate();
+        if (!truncate && !drip) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        final var body = buffered.getContentAsByteArray();
+        response.setContentLength(body.length);
+        final var out = response.getOutputStream();
+        if (truncate) {
+            out.write(body, 0, body.length / 2);
+            out.flush();
+            throw new IOException("Injected truncated response");
+        }
+        final int chunkBytes = Math.max(1, faults.getSlowDrip().getChunkBytes());
+        final long chunkDelayNanos = faults.getSlowDrip().getChunkDelay().toNanos();
+        for (int offset = 0; offset < body.length; offset += chunkBytes) {
+            out.write(body, offset, Math.min(chunkBytes, body.length - offset));
+            out.flush();
+            sleep(chunkDelayNanos);
+        }
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
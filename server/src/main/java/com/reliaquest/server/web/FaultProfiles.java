@@ -0,0 +1,91 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.FaultInjectionProperties;
+import com.reliaquest.server.config.FaultInjectionProperties.EndpointFaults;
+import com.reliaquest.server.config.FaultInjectionProperties.Latency;
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/*
+ * The active fault profile and the faults it injects per endpoint, shared by the servlet and the
+ * reactive fault injection filters. The profile can be switched at runtime through the admin endpoint.
+ */
+@Slf4j
+@Component
+public class FaultProfiles {
+
+    static final String EMPLOYEE_PATH = "/api/v1/employee";
+    private static final String BATCH_PATH = EMPLOYEE_PATH + "/batch";
+
+    private final FaultInjectionProperties properties;
+
+    private volatile String activeProfile;
+
+    public FaultProfiles(FaultInjectionProperties properties) {
+        this.properties = properties;
+        activate(properties.getActive());
+    }
+
+    public String getActiveProfile() {
+        return activeProfile;
+    }
+
+    public Set<String> getProfiles() {
+        return properties.getProfiles().keySet();
+    }
+
+    public void activate(String profile) {
+        if (!FaultInjectionProperties.NONE.equals(profile) && !properties.getProfiles().containsKey(profile)) {
+            throw new InvalidRequestException("Unknown fault profile " + profile);
+        }
+        activeProfile = profile;
+        log.info("Fault profile {} active", profile);
+    }
+
+    public boolean isActive() {
+        return !FaultInjectionProperties.NONE.equals(activeProfile);
+    }
+
+    /*
+     * Faults for a request to the given path, relative to the context path, or null when the
+     * request is not to an employee endpoint or the active profile leaves it alone.
+     */
+    public EndpointFaults faultsFor(String method, String path) {
+        final var profile = properties.getProfiles().get(activeProfile);
+        if (profile == null || !path.startsWith(EMPLOYEE_PATH)) {
+            return null;
+        }
+        final var endpoint = endpointOf(method, path);
+        final var faults = endpoint == null ? null : profile.get(endpoint);
+        return faults != null ? faults : profile.get("default");
+    }
+
+    public static long sampleNanos(Latency latency, RandomGenerator random) {
+        final double nanos =
+                switch (latency.getDistribution()) {
+                    case NONE -> 0;
+                    case FIXED -> latency.getFixed().toNanos();
+                    case NORMAL -> latency.getMean().toNanos()
+                            + latency.getStddev().toNanos() * random.nextGaussian();
+                    case PARETO -> latency.getScale().toNanos()
+                            / Math.pow(1 - random.nextDouble(), 1 / latency.getShape());
+                };
+        return (long) Math.max(0, Math.min(latency.getMax().toNanos(), nanos));
+    }
+
+    private static String endpointOf(String method, String path) {
+        if (path.startsWith(BATCH_PATH)) {
+            return "batch";
+        }
+        final boolean item = path.length() > EMPLOYEE_PATH.length() + 1;
+        return switch (method) {
+            case "GET" -> item ? "get" : "list";
+            case "POST" -> "create";
+            case "DELETE" -> "delete";
+            default -> null;
+        };
+    }
+}
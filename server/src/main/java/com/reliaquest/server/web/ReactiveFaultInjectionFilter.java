@@ -0,0 +1,117 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.FaultInjectionProperties.EndpointFaults;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+ * Reactive counterpart of FaultInjectionFilter. Delays are timers rather than sleeping threads, so
+ * tens of thousands of requests can sit in injected latency at once.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ReactiveFaultInjectionFilter implements WebFilter {
+
+    private final FaultProfiles faultProfiles;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!faultProfiles.isActive()) {
+            return chain.filter(exchange);
+        }
+        final var request = exchange.getRequest();
+        final var faults = faultProfiles.faultsFor(
+                request.getMethod().name(), request.getPath().pathWithinApplication().value());
+        if (faults == null) {
+            return chain.filter(exchange);
+        }
+        final var random = ThreadLocalRandom.current();
+        final long delayNanos = FaultProfiles.sampleNanos(faults.getLatency(), random);
+        final Mono<Void> delay = delayNanos > 0 ? Mono.delay(Duration.ofNanos(delayNanos)).then() : Mono.empty();
+        return delay.then(Mono.defer(() -> inject(faults, exchange, chain)));
+    }
+
+    private Mono<Void> inject(EndpointFaults faults, ServerWebExchange exchange, WebFilterChain chain) {
+        final var random = ThreadLocalRandom.current();
+        final var response = exchange.getResponse();
+        if (random.nextDouble() < faults.getErrorRate()) {
+            response.setStatusCode(HttpStatusCode.valueOf(faults.getErrorStatus()));
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.fromCallable(() -> errorBody(response)));
+        }
+        if (random.nextDouble() < faults.getResetRate()) {
+            // Failing once headers are out makes the server close the connection mid-response
+            response.getHeaders().setContentLength(1);
+            return response.writeWith(
+                    Flux.concat(Mono.just(response.bufferFactory().allocateBuffer(0)), failure("reset")));
+        }
+        final boolean truncate = random.nextDouble() < faults.getTruncateRate();
+        final boolean drip = random.nextDouble() < faults.getSlowDrip().getRate();
+        if (!truncate && !drip) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .response(new ServerHttpResponseDecorator(response) {
+                    @Override
+                    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                        return DataBufferUtils.join(body).flatMap(joined -> {
+                            getHeaders().setContentLength(joined.readableByteCount());
+                            return super.writeWith(truncate ? truncated(joined) : dripped(joined, faults));
+                        });
+                    }
+                })
+                .build());
+    }
+
+    private DataBuffer errorBody(ServerHttpResponse response) throws JsonProcessingException {
+        return response.bufferFactory().wrap(objectMapper.writeValueAsBytes(Response.error("Injected fault")));
+    }
+
+    private static Flux<DataBuffer> truncated(DataBuffer body) {
+        final var half = body.split(body.readPosition() + body.readableByteCount() / 2);
+        DataBufferUtils.release(body);
+        return Flux.concat(Mono.just(half), failure("truncated response"));
+    }
+
+    private static Flux<DataBuffer> dripped(DataBuffer body, EndpointFaults faults) {
+        final int chunkBytes = Math.max(1, faults.getSlowDrip().getChunkBytes());
+        return Flux.<DataBuffer>generate(sink -> {
+                    if (body.readableByteCount() == 0) {
+                        sink.complete();
+                    } else {
+                        sink.next(body.split(body.readPosition() + Math.min(chunkBytes, body.readableByteCount())));
+                    }
+                })
+                .delayElements(faults.getSlowDrip().getChunkDelay())
+                .doFinally(signal -> DataBufferUtils.release(body));
+    }
+
+    private static <T> Mono<T> failure(String fault) {
+        return Mono.error(new IOException("Injected " + fault));
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.RateLimitProperties;
+import com.reliaquest.server.jfr.RateLimitEvent;
+import com.reliaquest.server.service.TenantRosters;
+import io.micrometer.core.instrument.Counter;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/*
+ * Applies one of the request limiters to the employee endpoints of the reactive runtime. The limiter
+ * returns 0 to admit a request, the seconds to wait before retrying to reject it, or a negative
+ * value to reject it without a Retry-After. Decisions are recorded as RateLimitEvents and rejections
+ * are counted.
+ */
+public class RequestLimitWebFilter implements WebFilter {
+
+    private final ToLongFunction<ServerHttpRequest> limiter;
+
+    private final String mode;
+
+    private final Counter rejections;
+
+    public RequestLimitWebFilter(ToLongFunction<ServerHttpRequest> limiter, String mode, Counter rejections) {
+        this.limiter = limiter;
+        this.mode = mode;
+        this.rejections = rejections;
+    }
+
+    public static RequestLimitWebFilter random(Counter rejections) {
+        final var limiter = new RandomRequestLimitInterceptor();
+        return new RequestLimitWebFilter(
+                request -> limiter.tryAcquire() ? 0 : -1, RateLimitProperties.RANDOM, rejections);
+    }
+
+    public static RequestLimitWebFilter tokenBucket(
+            double ratePerSecond,
+            int burst,
+            int maxClients,
+            UnaryOperator<String> tenantResolver,
+            Counter rejections) {
+        final var limiter = new TokenBucketRequestLimitInterceptor(ratePerSecond, burst, maxClients, tenantResolver);
+        return new RequestLimitWebFilter(request -> limiter.tryAcquire(limiter.clientOf(
+                request.getHeaders().getFirst(TenantRosters.TENANT_HEADER),
+                request.getHeaders().getFirst(TokenBucketRequestLimitInterceptor.API_KEY_HEADER),
+                request.getRemoteAddress() == null
+                        ? null
+                        : request.getRemoteAddress().getAddress().getHostAddress())),
+                RateLimitProperties.TOKEN_BUCKET,
+                rejections);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final var request = exchange.getRequest();
+        if (!request.getPath().pathWithinApplication().value().startsWith(FaultProfiles.EMPLOYEE_PATH)) {
+            return chain.filter(exchange);
+        }
+        final var event = RateLimitEvent.start(mode);
+        long retryAfterSeconds = -1;
+        try {
+            retryAfterSeconds = limiter.applyAsLong(request);
+        } finally {
+            // A limiter failure is recorded as a rejection
+            event.commit(retryAfterSeconds == 0);
+        }
+        if (retryAfterSeconds == 0) {
+            return chain.filter(exchange);
+        }
+        rejections.increment();
+        final var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        if (retryAfterSeconds > 0) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        }
+        return response.setComplete();
+    }
+}
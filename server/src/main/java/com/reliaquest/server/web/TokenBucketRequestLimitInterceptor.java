@@ -0,0 +1,130 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.service.TenantRosters;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/*
+ * Deterministic per-client rate limit, keyed by X-API-Key or else the remote address, within the
+ * X-Tenant-Id tenant, so every tenant has budgets of its own. The tenant is the one the resolver
+ * maps the header to, e.g. TenantRosters::resolve, so that headers naming no known tenant share one
+ * budget rather than each starting with a full bucket.
+ *
+ * Each client's bucket is a single AtomicLong holding its theoretical arrival time (GCRA): a request
+ * is admitted if pushing that time one emission interval further stays within the burst allowance.
+ * Admission is one CAS and allocates nothing.
+ *
+ * At most max-clients buckets are kept. Once they are all taken, idle buckets are swept only every
+ * so many unseen clients, and unseen clients share one overflow bucket until a sweep frees room, so
+ * churning client ids neither grows the map nor forces a full scan per request.
+ */
+public class TokenBucketRequestLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final UnaryOperator<String> tenantResolver;
+    private final Map<String, AtomicLong> arrivalTimes = new ConcurrentHashMap<>();
+    // Buckets in arrivalTimes, reserved before they are added so the map never exceeds maxClients
+    private final AtomicInteger clients = new AtomicInteger();
+    private final AtomicLong untrackedArrivals = new AtomicLong();
+    private final long sweepInterval;
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+
+    public TokenBucketRequestLimitInterceptor(
+            double ratePerSecond, int burst, int maxClients, UnaryOperator<String> tenantResolver) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.maxClients = maxClients;
+        this.sweepInterval = Math.max(1, maxClients / 16);
+        this.tenantResolver = tenantResolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final long retryAfterSeconds = tryAcquire(clientOf(
+                request.getHeader(TenantRosters.TENANT_HEADER),
+                request.getHeader(API_KEY_HEADER),
+                request.getRemoteAddr()));
+        if (retryAfterSeconds > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return false;
+        }
+        return true;
+    }
+
+    /*
+     * Admits one request from the client, returning 0, or else the seconds to wait before retrying.
+     */
+    public long tryAcquire(String client) {
+        final long now = System.nanoTime();
+        final var arrivalTime = arrivalTimeOf(client, now);
+        while (true) {
+            final long current = arrivalTime.get();
+            final long next = Math.max(current, now) + emissionIntervalNanos;
+            final long wait = next - now - emissionIntervalNanos - burstToleranceNanos;
+            if (wait > 0) {
+                // Rounded up, so a client honouring Retry-After is admitted on its retry
+                return (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+            }
+            if (arrivalTime.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public String clientOf(String tenantHeader, String apiKey, String remoteAddress) {
+        return tenantResolver.apply(tenantHeader) + "/" + (apiKey != null ? apiKey : remoteAddress);
+    }
+
+    private AtomicLong arrivalTimeOf(String client, long now) {
+        final var arrivalTime = arrivalTimes.get(client);
+        if (arrivalTime != null) {
+            return arrivalTime;
+        }
+        if (clients.get() >= maxClients && untrackedArrivals.incrementAndGet() % sweepInterval == 0) {
+            sweep(now);
+        }
+        if (clients.incrementAndGet() > maxClients) {
+            clients.decrementAndGet();
+            return overflow;
+        }
+        final var mine = new AtomicLong(now);
+        final var existing = arrivalTimes.putIfAbsent(client, mine);
+        if (existing != null) {
+            clients.decrementAndGet();
+            return existing;
+        }
+        return mine;
+    }
+
+    // Clients whose arrival time has passed have a full bucket, so forgetting them is lossless
+    private void sweep(long now) {
+        arrivalTimes.forEach((client, arrivalTime) -> {
+            if (arrivalTime.get() - now <= 0 && arrivalTimes.remove(client, arrivalTime)) {
+                clients.decrementAndGet();
+            }
+        });
+    }
+
+    int trackedClients() {
+        return arrivalTimes.size();
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterSnapshotCache;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+
+class MockEmployeeControllerTest {
+
+    private static final RosterSnapshotCache.RosterSnapshot SNAPSHOT = new RosterSnapshotCache.RosterSnapshot(
+            1, "{\"data\":[]}".getBytes(StandardCharsets.UTF_8), new byte[] {0x1f, (byte) 0x8b});
+
+    private final MockEmployeeService mockEmployeeService = mock(MockEmployeeService.class);
+
+    private final MockEmployeeController controller = new MockEmployeeController(mockEmployeeService);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"gzip", "GZIP", "deflate, gzip", "gzip;q=0.5", "br;q=1.0, gzip; q=0.8", "*", "*;q=1"})
+    void acceptsGzip(String acceptEncoding) {
+        assertTrue(MockEmployeeController.acceptsGzip(acceptEncoding));
+    }
+
+    @ParameterizedTest
+    @NullSource
+    @ValueSource(strings = {"", "identity", "deflate, br", "gzip;q=0", "gzip; q=0.000", "*;q=0", "gzipped"})
+    void rejectsGzip(String acceptEncoding) {
+        assertFalse(MockEmployeeController.acceptsGzip(acceptEncoding));
+    }
+
+    @Test
+    void servesTheGzippedSnapshotToClientsAcceptingIt() {
+        when(mockEmployeeService.getRosterSnapshot(null)).thenReturn(SNAPSHOT);
+
+        final var response = controller.getEmployees(null, "gzip, deflate", null, null, null, null, null, null);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        assertSame(SNAPSHOT.gzip(), response.getBody());
+    }
+
+    @Test
+    void servesThePlainSnapshotOtherwise() {
+        when(mockEmployeeService.getRosterSnapshot(null)).thenReturn(SNAPSHOT);
+
+        final var response = controller.getEmployees(null, null, null, null, null, null, null, null);
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getFirst(HttpHeaders.VARY));
+        assertSame(SNAPSHOT.json(), response.getBody());
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.server.config.ReactiveServerConfiguration;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.Validation;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+class MockEmployeeHandlerTest {
+
+    private static final String HANDLED = "Successfully processed request.";
+    private static final String ERROR = "Failed to process request.";
+
+    private MockEmployeeService mockEmployeeService;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        mockEmployeeService = mock(MockEmployeeService.class);
+        final var handler = new MockEmployeeHandler(
+                mockEmployeeService,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        client = WebTestClient.bindToRouterFunction(new ReactiveServerConfiguration().employeeRoutes(handler))
+                .build();
+    }
+
+    @Test
+    void createsEmployee() {
+        final var employee = MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Ada Lovelace")
+                .salary(120_000)
+                .age(36)
+                .title("Engineer")
+                .email("ada@company.com")
+                .build();
+        when(mockEmployeeService.create(isNull(), any(CreateMockEmployeeInput.class), eq("key-1")))
+                .thenReturn(employee);
+
+        client.post()
+                .uri("/api/v1/employee")
+                .header("Idempotency-Key", "key-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Ada Lovelace\",\"salary\":120000,\"age\":36,\"title\":\"Engineer\"}")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo(HANDLED)
+                .jsonPath("$.data.id")
+                .isEqualTo(employee.getId().toString());
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        client.post()
+                .uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo(ERROR);
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void rejectsMissingBody() {
+        client.post()
+                .uri("/api/v1/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.error")
+                .isEqualTo("Request body is required");
+    }
+
+    @Test
+    void rejectsConstraintViolations() {
+        client.post()
+                .uri("/api/v1/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Ada Lovelace\",\"salary\":-1,\"age\":36,\"title\":\"Engineer\"}")
+                .exchange()
+                .expectStatus()
+                .isBadRequest()
+                .expectBody()
+                .jsonPath("$.error")
+                .value(error -> assertTrue(((String) error).startsWith("salary ")));
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void rejectsUnparsableParameters() {
+        client.get().uri("/api/v1/employee/not-a-uuid").exchange().expectStatus().isBadRequest();
+        client.get()
+                .uri("/api/v1/employee/aggregates/top-earners?limit=ten")
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+        client.get().uri("/api/v1/employee?minSalary=lots").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void answersUnknownEmployeeWithNotFound() {
+        final var id = UUID.randomUUID();
+        when(mockEmployeeService.findById(null, id)).thenReturn(Optional.empty());
+
+        client.get().uri("/api/v1/employee/" + id).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void answersServerFailuresWithServerError() {
+        // Not a client mistake, so not a 400 even though it is an IllegalArgumentException
+        when(mockEmployeeService.size(any())).thenThrow(new IllegalArgumentException("broken"));
+
+        client.get()
+                .uri("/api/v1/employee/aggregates")
+                .exchange()
+                .expectStatus()
+                .is5xxServerError()
+                .expectBody()
+                .jsonPath("$.status")
+                .isEqualTo(ERROR);
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.ShardedEmployeeStore;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeGeneratorTest {
+
+    private static final long SEED = 42L;
+
+    @Test
+    void sameSeedYieldsTheSameRoster() {
+        final var first = generate(new EmployeeGenerator(SEED, "en-US"), "default", 25_000);
+        final var second = generate(new EmployeeGenerator(SEED, "en-US"), "default", 25_000);
+
+        assertEquals(25_000, first.size());
+        assertEquals(first, second);
+    }
+
+    // Rosters generated for other tenants, or other stores, do not shift a tenant's roster
+    @Test
+    void rostersDoNotDependOnWhatWasGeneratedBefore() {
+        final var expected = generate(new EmployeeGenerator(SEED, "en-US"), "emea", 100);
+
+        final var generator = new EmployeeGenerator(SEED, "en-US");
+        generate(generator, "default", 100);
+        generate(generator, "apac", 100);
+
+        assertEquals(expected, generate(generator, "emea", 100));
+        assertNotEquals(expected, generate(generator, "apac", 100));
+    }
+
+    // Seeding a store again continues where its roster left off
+    @Test
+    void seedingAgainAddsNewEmployees() {
+        final var generator = new EmployeeGenerator(SEED, "en-US");
+        final EmployeeStore store = new ShardedEmployeeStore(4);
+
+        assertEquals(100, generator.generate("default", 100, store));
+        assertEquals(100, generator.generate("default", 100, store));
+        assertEquals(200, store.size());
+    }
+
+    private static List<MockEmployee> generate(EmployeeGenerator generator, String tenantId, int count) {
+        final EmployeeStore store = new ShardedEmployeeStore(4);
+        generator.generate(tenantId, count, store);
+        return store.list().stream()
+                .sorted(Comparator.comparing(MockEmployee::getId))
+                .toList();
+    }
+}
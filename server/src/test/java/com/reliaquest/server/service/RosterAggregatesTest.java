@@ -0,0 +1,140 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ShardedEmployeeStore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+class RosterAggregatesTest {
+
+    private static final Comparator<MockEmployee> EXPECTED_ORDER = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.<Integer>reverseOrder())
+            .thenComparing(MockEmployee::getId);
+
+    @Test
+    void answersTopEarnersHighestFirst() {
+        final var store = new ShardedEmployeeStore(4);
+        final var aggregates = new RosterAggregates(store, 3);
+        final var low = employee(50_000);
+        final var high = employee(150_000);
+        final var middle = employee(100_000);
+        store.add(low);
+        store.add(high);
+        store.add(middle);
+
+        assertEquals(List.of(high, middle, low), aggregates.topEarners(3));
+        assertEquals(150_000, aggregates.highestSalary().orElseThrow());
+
+        store.removeById(high.getId());
+        assertEquals(List.of(middle, low), aggregates.topEarners(2));
+    }
+
+    @Test
+    void ranksTiedSalariesById() {
+        final var store = new ShardedEmployeeStore(4);
+        final var aggregates = new RosterAggregates(store, 3);
+        final List<MockEmployee> tied = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            final var employee = employee(100_000);
+            tied.add(employee);
+            store.add(employee);
+        }
+        tied.sort(EXPECTED_ORDER);
+
+        assertEquals(tied.subList(0, 3), aggregates.topEarners(3));
+
+        // Ties with the last held employee are admitted or left out by id alone
+        final var first = employee(new UUID(Long.MIN_VALUE, 0), 100_000);
+        final var last = employee(new UUID(Long.MAX_VALUE, 0), 100_000);
+        store.add(first);
+        store.add(last);
+        assertEquals(List.of(first, tied.get(0), tied.get(1)), aggregates.topEarners(3));
+
+        // Dropping below what the query needs rebuilds from the roster, ties included
+        store.removeById(first.getId());
+        store.removeById(tied.get(0).getId());
+        assertEquals(List.of(tied.get(1), tied.get(2), tied.get(3)), aggregates.topEarners(3));
+        assertEquals(100_000, aggregates.highestSalary().orElseThrow());
+    }
+
+    @Test
+    void ignoresEmployeesWithoutSalary() {
+        final var store = new ShardedEmployeeStore(4);
+        final var aggregates = new RosterAggregates(store, 3);
+        final var salaried = employee(10_000);
+        store.add(employee(UUID.randomUUID(), null));
+        store.add(salaried);
+
+        assertEquals(List.of(salaried), aggregates.topEarners(3));
+    }
+
+    @Test
+    void staysExactWhileRebuildsRaceWithMutations() throws Exception {
+        final int capacity = 5;
+        final var store = new ShardedEmployeeStore(16);
+        final var aggregates = new RosterAggregates(store, capacity);
+        for (int i = 0; i < 2_000; i++) {
+            store.add(employee(ThreadLocalRandom.current().nextInt(1_000)));
+        }
+        final var stop = new AtomicBoolean();
+        final ExecutorService pool = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < 4; w++) {
+                writers.add(pool.submit(() -> {
+                    final var random = ThreadLocalRandom.current();
+                    while (!stop.get()) {
+                        // Removing current top earners keeps shrinking the held set, forcing rebuilds
+                        aggregates.topEarners(capacity).stream()
+                                .skip(random.nextInt(capacity))
+                                .findFirst()
+                                .ifPresent(employee -> store.removeById(employee.getId()));
+                        store.add(employee(random.nextInt(1_000)));
+                    }
+                }));
+            }
+            final var reader = pool.submit(() -> {
+                while (!stop.get()) {
+                    assertEquals(capacity, aggregates.topEarners(capacity).size());
+                }
+            });
+            TimeUnit.MILLISECONDS.sleep(500);
+            stop.set(true);
+            for (final var writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+            reader.get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        final var expected = store.list().stream().sorted(EXPECTED_ORDER).limit(capacity).toList();
+        assertEquals(expected, aggregates.topEarners(capacity));
+    }
+
+    private static MockEmployee employee(Integer salary) {
+        return employee(UUID.randomUUID(), salary);
+    }
+
+    private static MockEmployee employee(UUID id, Integer salary) {
+        return MockEmployee.builder()
+                .id(id)
+                .name("Employee " + id)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email(id + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ShardedEmployeeStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+class RosterSnapshotCacheTest {
+
+    private final ShardedEmployeeStore store = new ShardedEmployeeStore(4);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RosterSnapshotCache cache = new RosterSnapshotCache(store, new ObjectMapper(), meterRegistry, "test");
+
+    @Test
+    void servesTheSameSnapshotUntilTheStoreChanges() throws IOException {
+        final var employee = employee();
+        final var empty = cache.current();
+        assertSame(empty, cache.current());
+
+        store.add(employee);
+        final var added = cache.current();
+        assertNotSame(empty, added);
+        assertEquals(store.version(), added.version());
+        assertTrue(json(added).contains(employee.getId().toString()));
+        assertSame(added, cache.current());
+
+        store.removeById(employee.getId());
+        final var removed = cache.current();
+        assertNotSame(added, removed);
+        assertEquals(store.version(), removed.version());
+        assertFalse(json(removed).contains(employee.getId().toString()));
+
+        assertEquals(3, requests("miss"));
+        assertEquals(2, requests("hit"));
+    }
+
+    @Test
+    void gzipHoldsTheSameJson() throws IOException {
+        store.add(employee());
+        final var snapshot = cache.current();
+
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+    }
+
+    // A burst of reads after a mutation builds the snapshot once and shares it
+    @Test
+    void buildsOnceUnderConcurrentReads() throws Exception {
+        store.add(employee());
+        final int readers = 16;
+        final var start = new CountDownLatch(1);
+        final var executor = Executors.newFixedThreadPool(readers);
+        try {
+            final var snapshots = new ArrayList<Future<RosterSnapshotCache.RosterSnapshot>>();
+            for (int i = 0; i < readers; i++) {
+                final Callable<RosterSnapshotCache.RosterSnapshot> read = () -> {
+                    start.await();
+                    return cache.current();
+                };
+                snapshots.add(executor.submit(read));
+            }
+            start.countDown();
+
+            final var first = snapshots.get(0).get(5, TimeUnit.SECONDS);
+            for (var snapshot : snapshots) {
+                assertSame(first, snapshot.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, requests("miss"));
+        assertEquals(readers - 1, requests("hit"));
+    }
+
+    private double requests(String result) {
+        return meterRegistry
+                .get("mock.roster.snapshot.requests")
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+
+    private static String json(RosterSnapshotCache.RosterSnapshot snapshot) {
+        return new String(snapshot.json(), StandardCharsets.UTF_8);
+    }
+
+    private static MockEmployee employee() {
+        final var id = UUID.randomUUID();
+        return MockEmployee.builder()
+                .id(id)
+                .name("Employee " + id)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email(id + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.exceptions.InvalidRequestException;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ShardedEmployeeStore;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TenantRosterTest {
+
+    @Test
+    void replaysCreatesByIdempotencyKey() {
+        final var roster = roster(10);
+        final var first = roster.createOnce("key", "request", TenantRosterTest::employee);
+
+        assertSame(first, roster.createOnce("key", "request", TenantRosterTest::employee));
+        assertNotEquals(first, roster.createOnce(null, "request", TenantRosterTest::employee));
+    }
+
+    @Test
+    void batchTakesOneKeyHoweverLarge() {
+        final var roster = roster(2);
+        final var single = roster.createOnce("single", "request", TenantRosterTest::employee);
+        final List<MockEmployee> batch = roster.createBatchOnce(
+                "batch",
+                "requests",
+                () -> IntStream.range(0, 100).mapToObj(i -> employee()).toList());
+
+        assertSame(batch, roster.createBatchOnce("batch", "requests", List::of));
+        assertSame(single, roster.createOnce("single", "request", TenantRosterTest::employee));
+    }
+
+    @Test
+    void rejectsKeysReusedForAnotherRequest() {
+        final var roster = roster(10);
+        final var first = roster.createOnce("key", "request", TenantRosterTest::employee);
+
+        assertThrows(
+                InvalidRequestException.class,
+                () -> roster.createOnce("key", "another request", TenantRosterTest::employee));
+        assertSame(first, roster.createOnce("key", "request", TenantRosterTest::employee));
+    }
+
+    @Test
+    void rejectsBatchKeysReusedForAnotherBatch() {
+        final var roster = roster(10);
+        roster.createBatchOnce("batch", List.of("a", "b"), List::of);
+
+        assertThrows(
+                InvalidRequestException.class,
+                () -> roster.createBatchOnce("batch", List.of("c", "d"), List::of));
+    }
+
+    // Retries wait for the create in flight rather than creating again, and failed creates are forgotten
+    @Test
+    void retriesWaitForTheCreateInFlight() throws Exception {
+        final var roster = roster(10);
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var creates = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(2);
+        try {
+            final var first = executor.submit(() -> roster.createOnce("key", "request", () -> {
+                creates.incrementAndGet();
+                started.countDown();
+                awaitQuietly(release);
+                return employee();
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            final var retry = executor.submit(() -> roster.createOnce("key", "request", () -> {
+                creates.incrementAndGet();
+                return employee();
+            }));
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+            assertEquals(1, creates.get());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThrows(IllegalStateException.class, () -> roster.createOnce("failed", "request", () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertNotNull(roster.createOnce("failed", "request", TenantRosterTest::employee));
+    }
+
+    @Test
+    void forgetsOldestKeysBeyondTheLimit() {
+        final var roster = roster(2);
+        final var oldest = roster.createOnce("a", "request", TenantRosterTest::employee);
+        roster.createOnce("b", "request", TenantRosterTest::employee);
+        roster.createOnce("c", "request", TenantRosterTest::employee);
+
+        assertNotSame(oldest, roster.createOnce("a", "request", TenantRosterTest::employee));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static TenantRoster roster(int maxIdempotencyKeys) {
+        return new TenantRoster("test", new ShardedEmployeeStore(4), null, null, null, maxIdempotencyKeys);
+    }
+
+    private static MockEmployee employee() {
+        final var id = UUID.randomUUID();
+        return MockEmployee.builder()
+                .id(id)
+                .name("Employee " + id)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email(id + "@company.com")
+                .build();
+    }
+}
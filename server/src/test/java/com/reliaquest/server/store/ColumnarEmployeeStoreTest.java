@@ -0,0 +1,9 @@
+package com.reliaquest.server.store;
+
+class ColumnarEmployeeStoreTest extends EmployeeStoreContractTest {
+
+    @Override
+    EmployeeStore newStore() {
+        return new ColumnarEmployeeStore();
+    }
+}
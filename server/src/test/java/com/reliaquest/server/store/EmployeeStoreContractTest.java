@@ -0,0 +1,298 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeFilter;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/*
+ * Behaviour every EmployeeStore implementation must share; each store runs it through a subclass.
+ */
+abstract class EmployeeStoreContractTest {
+
+    abstract EmployeeStore newStore();
+
+    @Test
+    void addsAndFindsById() {
+        final var store = newStore();
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+
+        assertTrue(store.add(ada));
+        assertFalse(store.add(ada.toBuilder().name("Impostor").build()));
+
+        assertEquals(ada, store.findById(ada.getId()).orElseThrow());
+        assertEquals(1, store.size());
+        assertTrue(store.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void removesById() {
+        final var store = newStore();
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 110_000, 41, "Scientist");
+        store.add(ada);
+        store.add(alan);
+
+        assertEquals(ada, store.removeById(ada.getId()).orElseThrow());
+        assertTrue(store.removeById(ada.getId()).isEmpty());
+
+        assertTrue(store.findById(ada.getId()).isEmpty());
+        assertEquals(List.of(alan), store.list());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void removesEarliestMatchingNameIgnoringCase() {
+        final var store = newStore();
+        final var first = employee("Grace Hopper", 100_000, 50, "Admiral");
+        final var other = employee("Alan Turing", 110_000, 41, "Scientist");
+        final var second = employee("GRACE HOPPER", 90_000, 30, "Engineer");
+        store.add(first);
+        store.add(other);
+        store.add(second);
+
+        assertEquals(first, store.removeFirstByName("grace hopper").orElseThrow());
+        assertEquals(second, store.removeFirstByName("Grace Hopper").orElseThrow());
+        assertTrue(store.removeFirstByName("grace hopper").isEmpty());
+        assertEquals(List.of(other), store.list());
+    }
+
+    @Test
+    void listsAndVisitsInInsertionOrder() {
+        final var store = newStore();
+        final List<MockEmployee> added = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            final var employee = employee("Employee " + i, 50_000 + i, 20 + i % 40, "Clerk");
+            added.add(employee);
+            store.add(employee);
+        }
+        store.removeById(added.remove(10).getId());
+        store.removeById(added.remove(30).getId());
+
+        assertEquals(added, store.list());
+        final List<MockEmployee> visited = new ArrayList<>();
+        store.forEach(visited::add);
+        assertEquals(added, visited);
+    }
+
+    @Test
+    void searchesByEveryCriterionInInsertionOrder() {
+        final var store = newStore();
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 110_000, 41, "Scientist");
+        final var adam = employee("Adam Smith", 60_000, 52, "Engineer");
+        final var nameless = employee(null, null, null, null);
+        List.of(ada, alan, adam, nameless).forEach(store::add);
+
+        assertEquals(List.of(ada, adam), store.search(filter("ada", null, null, null, null, null)));
+        assertEquals(List.of(ada, adam), store.search(filter(null, null, null, null, null, "Engineer")));
+        assertEquals(List.of(ada, alan), store.search(filter(null, 100_000, null, null, null, null)));
+        assertEquals(List.of(alan, adam), store.search(filter(null, null, null, 40, 60, null)));
+        assertEquals(List.of(adam), store.search(filter("A", null, 100_000, null, null, "Engineer")));
+        assertEquals(List.of(), store.search(filter(null, null, null, null, null, "Astronaut")));
+        assertEquals(List.of(), store.search(filter(null, 200_000, 100_000, null, null, null)));
+        assertEquals(List.of(ada, alan, adam, nameless), store.search(filter(null, null, null, null, null, null)));
+    }
+
+    // Whichever of the title and salary range is narrower, both criteria are applied
+    @Test
+    void searchesByTitleAndSalaryWhicheverIsNarrower() {
+        final var store = newStore();
+        final List<MockEmployee> engineers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            engineers.add(employee("Engineer " + i, 50_000 + i * 1_000, 30, "Engineer"));
+        }
+        final var director = employee("Grace Hopper", 65_000, 60, "Director");
+        engineers.forEach(store::add);
+        store.add(director);
+
+        assertEquals(
+                engineers.subList(10, 12), store.search(filter(null, 60_000, 61_000, null, null, "Engineer")));
+        assertEquals(List.of(director), store.search(filter(null, 0, null, null, null, "Director")));
+        assertEquals(List.of(), store.search(filter(null, 200_000, null, null, null, "Engineer")));
+    }
+
+    @Test
+    void bumpsVersionOnEveryMutationOnly() {
+        final var store = newStore();
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final long initial = store.version();
+
+        store.add(ada);
+        final long added = store.version();
+        store.add(ada);
+        store.removeById(UUID.randomUUID());
+        store.removeFirstByName("nobody");
+        assertEquals(added, store.version());
+        store.removeFirstByName("ada lovelace");
+
+        assertTrue(added > initial);
+        assertTrue(store.version() > added);
+    }
+
+    @Test
+    void notifiesListenersOfMutations() {
+        final var store = newStore();
+        final List<String> events = new ArrayList<>();
+        store.addMutationListener(new EmployeeStore.MutationListener() {
+            @Override
+            public void onAdded(MockEmployee employee) {
+                events.add("added " + employee.getName());
+            }
+
+            @Override
+            public void onRemoved(MockEmployee employee) {
+                events.add("removed " + employee.getName());
+            }
+        });
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 110_000, 41, "Scientist");
+
+        store.add(ada);
+        store.add(alan);
+        store.add(ada);
+        store.removeById(ada.getId());
+        store.removeFirstByName("alan turing");
+
+        assertEquals(
+                List.of("added Ada Lovelace", "added Alan Turing", "removed Ada Lovelace", "removed Alan Turing"),
+                events);
+    }
+
+    // A slow visitor, like roster serialization or a snapshot write, must not hold back writers
+    @Test
+    void writersProceedWhileVisiting() throws Exception {
+        final var store = newStore();
+        store.add(employee("Ada Lovelace", 120_000, 36, "Engineer"));
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            store.forEach(visited -> {
+                final Future<Boolean> write =
+                        executor.submit(() -> store.add(employee("Alan Turing", 110_000, 41, "Scientist")));
+                assertTrue(assertDoesNotThrow(() -> write.get(5, TimeUnit.SECONDS)));
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, store.size());
+    }
+
+    // Enough churn to grow, and for the columnar store to compact, while ids stay findable
+    @Test
+    void keepsRowsThroughGrowthAndChurn() {
+        final var store = newStore();
+        final List<MockEmployee> kept = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            final var employee = employee("Employee " + i, i, 30, "Clerk");
+            store.add(employee);
+            if (i % 3 == 0) {
+                kept.add(employee);
+            } else {
+                store.removeById(employee.getId());
+            }
+        }
+
+        assertEquals(kept, store.list());
+        for (MockEmployee employee : kept) {
+            assertEquals(employee, store.findById(employee.getId()).orElseThrow());
+        }
+        assertEquals(kept.get(1), store.removeFirstByName("employee 3").orElseThrow());
+    }
+
+    // Writers on many threads neither lose nor duplicate employees, mutations or events
+    @Test
+    void toleratesConcurrentWriters() throws Exception {
+        final var store = newStore();
+        final var events = new AtomicInteger();
+        store.addMutationListener(new EmployeeStore.MutationListener() {
+            @Override
+            public void onAdded(MockEmployee employee) {
+                events.incrementAndGet();
+            }
+
+            @Override
+            public void onRemoved(MockEmployee employee) {
+                events.incrementAndGet();
+            }
+        });
+        final int writers = 8;
+        final int perWriter = 2_000;
+        final long initialVersion = store.version();
+        final ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        final var start = new CountDownLatch(1);
+        try {
+            final List<Future<List<MockEmployee>>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                final int writer = w;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final List<MockEmployee> kept = new ArrayList<>();
+                    for (int i = 0; i < perWriter; i++) {
+                        final var employee = employee("Writer " + writer + " employee " + i, i, 30, "Clerk");
+                        assertTrue(store.add(employee));
+                        if (i % 2 == 0) {
+                            kept.add(employee);
+                        } else if (i % 4 == 1) {
+                            assertTrue(store.removeById(employee.getId()).isPresent());
+                        } else {
+                            assertTrue(store.removeFirstByName(employee.getName()).isPresent());
+                        }
+                    }
+                    return kept;
+                }));
+            }
+            // A reader listing and searching throughout must never see duplicates
+            final Future<?> reader = executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    final var listed = store.list();
+                    assertEquals(listed.size(), new HashSet<>(listed).size());
+                    store.search(filter("writer 1", null, null, null, null, null));
+                }
+                return null;
+            });
+            start.countDown();
+
+            final var kept = new HashSet<MockEmployee>();
+            for (Future<List<MockEmployee>> future : futures) {
+                kept.addAll(future.get(60, TimeUnit.SECONDS));
+            }
+            reader.get(60, TimeUnit.SECONDS);
+
+            final int mutations = writers * perWriter * 3 / 2;
+            assertEquals(kept.size(), store.size());
+            assertEquals(kept, new HashSet<>(store.list()));
+            assertEquals(mutations, events.get());
+            assertEquals(initialVersion + mutations, store.version());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    static MockEmployee employee(String name, Integer salary, Integer age, String title) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .email(name == null ? null : name.replace(' ', '.') + "@company.com")
+                .build();
+    }
+
+    static EmployeeFilter filter(
+            String name, Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title) {
+        return new EmployeeFilter(name, minSalary, maxSalary, minAge, maxAge, title);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.store;
+
+class ShardedEmployeeStoreTest extends EmployeeStoreContractTest {
+
+    @Override
+    EmployeeStore newStore() {
+        return new ShardedEmployeeStore(16);
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.server.store;
+
+import static com.reliaquest.server.store.EmployeeStoreContractTest.employee;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.service.RosterAggregates;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StorePersistenceTest {
+
+    @TempDir
+    Path root;
+
+    private Path directory;
+    private Path crashed;
+
+    @BeforeEach
+    void setUp() {
+        directory = root.resolve("store");
+        crashed = root.resolve("crashed");
+    }
+
+    @Test
+    void recoversFromLogAfterCrash() throws IOException {
+        final var store = new ShardedEmployeeStore(16);
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 110_000, 41, "Scientist");
+        try (var persistence = open(directory, store)) {
+            store.add(ada);
+            store.add(alan);
+            store.removeById(ada.getId());
+            persistence.awaitDurable();
+            copyTo(crashed);
+        }
+
+        final var recovered = new ShardedEmployeeStore(16);
+        try (var persistence = open(crashed, recovered)) {
+            assertEquals(List.of(alan), recovered.list());
+        }
+    }
+
+    @Test
+    void recoversFromSnapshotAndNewerSegments() throws IOException {
+        final var store = new ShardedEmployeeStore(16);
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 110_000, 41, "Scientist");
+        try (var persistence = open(directory, store)) {
+            store.add(ada);
+            persistence.snapshot();
+            store.add(alan);
+            store.removeById(ada.getId());
+            persistence.awaitDurable();
+
+            // The rotation dropped the segment the snapshot covers
+            assertEquals(List.of(1L), WriteAheadLog.segments(directory));
+            copyTo(crashed);
+        }
+
+        final var recovered = new ShardedEmployeeStore(16);
+        try (var persistence = open(crashed, recovered)) {
+            assertEquals(List.of(alan), recovered.list());
+        }
+    }
+
+    @Test
+    void recoversAfterCleanClose() throws IOException {
+        final var store = new ShardedEmployeeStore(16);
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        try (var persistence = open(directory, store)) {
+            store.add(ada);
+        }
+
+        final var recovered = new ShardedEmployeeStore(16);
+        try (var persistence = open(directory, recovered)) {
+            assertEquals(List.of(ada), recovered.list());
+        }
+    }
+
+    // The log is written ahead of the store, so a write it cannot record is not applied anywhere
+    @ParameterizedTest
+    @ValueSource(strings = {"sharded", "columnar"})
+    void rejectsWritesOnceTheLogIsClosed(String storeType) throws IOException {
+        final var store = ServerConfiguration.createStore(storeType, 16);
+        final var ada = employee("Ada Lovelace", 120_000, 36, "Engineer");
+        final var alan = employee("Alan Turing", 130_000, 41, "Scientist");
+        final var persistence = open(directory, store);
+        final var aggregates = new RosterAggregates(store, 10);
+        store.add(ada);
+        persistence.close();
+        final long version = store.version();
+
+        assertThrows(IllegalStateException.class, () -> store.add(alan));
+        assertThrows(IllegalStateException.class, () -> store.removeById(ada.getId()));
+
+        assertEquals(List.of(ada), store.list());
+        assertTrue(store.findById(alan.getId()).isEmpty());
+        assertEquals(version, store.version());
+        assertEquals(List.of(ada), aggregates.topEarners(10));
+    }
+
+    private static StorePersistence open(Path directory, EmployeeStore store) throws IOException {
+        final var persistence = new StorePersistence(directory, Duration.ofHours(1));
+        persistence.recover(store);
+        return persistence;
+    }
+
+    // What a crash leaves behind: the files as they are, without the snapshot written on close
+    private void copyTo(Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (final var file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+    }
+}
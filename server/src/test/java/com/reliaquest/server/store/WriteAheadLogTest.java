@@ -0,0 +1,106 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordsAcrossRotation() throws IOException {
+        try (var wal = new WriteAheadLog(directory, 0)) {
+            wal.append(WriteAheadLog.CREATE, bytes("first"));
+            assertEquals(1, wal.rotate());
+            wal.append(WriteAheadLog.DELETE, bytes("second"));
+            wal.awaitDurable();
+        }
+
+        assertEquals(List.of(0L, 1L), WriteAheadLog.segments(directory));
+        assertEquals(List.of("1:first"), replay(0));
+        assertEquals(List.of("2:second"), replay(1));
+
+        WriteAheadLog.deleteSegmentsBefore(directory, 1);
+        assertEquals(List.of(1L), WriteAheadLog.segments(directory));
+    }
+
+    @Test
+    void ignoresTruncatedRecordAtTail() throws IOException {
+        try (var wal = new WriteAheadLog(directory, 0)) {
+            wal.append(WriteAheadLog.CREATE, bytes("kept"));
+            wal.append(WriteAheadLog.CREATE, bytes("torn"));
+        }
+        final var file = segmentFile(0);
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 2);
+        }
+
+        assertEquals(List.of("1:kept"), replay(0));
+    }
+
+    @Test
+    void ignoresTornHeaderClaimingHugeLength() throws IOException {
+        try (var wal = new WriteAheadLog(directory, 0)) {
+            wal.append(WriteAheadLog.CREATE, bytes("kept"));
+        }
+        final var header = ByteBuffer.allocate(12).putInt(Integer.MAX_VALUE).putInt(42).putInt(7);
+        Files.write(segmentFile(0), header.array(), StandardOpenOption.APPEND);
+
+        assertEquals(List.of("1:kept"), replay(0));
+    }
+
+    @Test
+    void failedFlushIsTerminalAndKeepsDurablePrefix() throws IOException {
+        final var wal = new WriteAheadLog(directory, 0);
+        wal.append(WriteAheadLog.CREATE, bytes("durable"));
+        wal.awaitDurable();
+
+        // An interrupted flusher gets ClosedByInterruptException from its next write
+        flusher().interrupt();
+        wal.append(WriteAheadLog.CREATE, bytes("lost"));
+
+        assertThrows(UncheckedIOException.class, wal::awaitDurable);
+        assertThrows(UncheckedIOException.class, () -> wal.append(WriteAheadLog.CREATE, bytes("refused")));
+        assertThrows(IOException.class, wal::rotate);
+        assertThrows(IOException.class, wal::close);
+
+        assertEquals(List.of(0L), WriteAheadLog.segments(directory));
+        assertEquals(List.of("1:durable"), replay(0));
+    }
+
+    private List<String> replay(long segment) throws IOException {
+        final var records = new ArrayList<String>();
+        WriteAheadLog.replay(
+                directory,
+                segment,
+                (type, payload) -> records.add(type + ":" + StandardCharsets.UTF_8.decode(payload)));
+        return records;
+    }
+
+    private Path segmentFile(long segment) {
+        return directory.resolve("wal-%020d.log".formatted(segment));
+    }
+
+    private static Thread flusher() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("wal-flusher") && thread.isAlive())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,135 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.FaultInjectionProperties;
+import com.reliaquest.server.config.FaultInjectionProperties.EndpointFaults;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FaultInjectionFilterTest {
+
+    private static final String BODY = "{\"status\":\"Handled\"}";
+
+    @Test
+    void passesRequestsThroughWithoutActiveProfile() throws Exception {
+        final var filter = new FaultInjectionFilter(profiles(new EndpointFaults()), new ObjectMapper());
+        final var response = new ChunkRecordingResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, (request, out) -> out
+                .getOutputStream()
+                .write(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void slowDripWritesBodyInDelayedChunks() throws Exception {
+        final var faults = new EndpointFaults();
+        faults.getSlowDrip().setRate(1.0);
+        faults.getSlowDrip().setChunkBytes(8);
+        faults.getSlowDrip().setChunkDelay(Duration.ofMillis(1));
+        final var profiles = profiles(faults);
+        profiles.activate("test");
+        final var filter = new FaultInjectionFilter(profiles, new ObjectMapper());
+        final var response = new ChunkRecordingResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, (request, out) -> out
+                .getOutputStream()
+                .write(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("{\"status", "\":\"Handl", "ed\"}"), response.chunks);
+        assertEquals(BODY.length(), response.getContentLength());
+    }
+
+    @Test
+    void leavesOtherPathsAlone() throws Exception {
+        final var faults = new EndpointFaults();
+        faults.setErrorRate(1.0);
+        final var profiles = profiles(faults);
+        profiles.activate("test");
+        final var filter = new FaultInjectionFilter(profiles, new ObjectMapper());
+        final var response = new ChunkRecordingResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/admin/faults"), response, (request, out) -> out
+                .getOutputStream()
+                .write(BODY.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void answersErrorRateWithErrorStatus() throws Exception {
+        final var faults = new EndpointFaults();
+        faults.setErrorRate(1.0);
+        faults.setErrorStatus(503);
+        final var profiles = profiles(faults);
+        profiles.activate("test");
+        final var filter = new FaultInjectionFilter(profiles, new ObjectMapper());
+        final var response = new ChunkRecordingResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, (request, out) -> fail());
+
+        assertEquals(503, response.getStatus());
+        assertTrue(response.getContentAsString().contains("Injected fault"));
+    }
+
+    private static FaultProfiles profiles(EndpointFaults faults) {
+        final var properties = new FaultInjectionProperties();
+        properties.setProfiles(Map.of("test", Map.of("default", faults)));
+        return new FaultProfiles(properties);
+    }
+
+    // Records what reached the client by the time of each flush
+    private static class ChunkRecordingResponse extends MockHttpServletResponse {
+
+        final List<String> chunks = new ArrayList<>();
+
+        private final ByteArrayOutputStream unflushed = new ByteArrayOutputStream();
+
+        private final ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+                unflushed.write(b);
+            }
+
+            @Override
+            public void flush() {
+                if (unflushed.size() > 0) {
+                    chunks.add(unflushed.toString(StandardCharsets.UTF_8));
+                    unflushed.reset();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {}
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return out;
+        }
+
+        @Override
+        public String getContentAsString() {
+            out.flush();
+            return String.join("", chunks);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.config.FaultInjectionProperties;
+import com.reliaquest.server.config.FaultInjectionProperties.EndpointFaults;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class ReactiveFaultInjectionFilterTest {
+
+    private static final String BODY = "{\"status\":\"Handled\"}";
+
+    private final WebFilterChain chain = exchange -> {
+        final var response = exchange.getResponse();
+        return response.writeWith(
+                Mono.fromSupplier(() -> response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+    };
+
+    @Test
+    void passesRequestsThroughWithoutActiveProfile() {
+        final var filter = new ReactiveFaultInjectionFilter(profiles(new EndpointFaults()), new ObjectMapper());
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void answersErrorRateWithErrorStatus() {
+        final var faults = new EndpointFaults();
+        faults.setErrorRate(1.0);
+        faults.setErrorStatus(503);
+        final var filter = new ReactiveFaultInjectionFilter(active(faults), new ObjectMapper());
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getBodyAsString().block().contains("Injected fault"));
+    }
+
+    @Test
+    void slowDripWritesBodyInDelayedChunks() {
+        final var faults = new EndpointFaults();
+        faults.getSlowDrip().setRate(1.0);
+        faults.getSlowDrip().setChunkBytes(8);
+        faults.getSlowDrip().setChunkDelay(Duration.ofMillis(1));
+        final var filter = new ReactiveFaultInjectionFilter(active(faults), new ObjectMapper());
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        filter.filter(exchange, chain).block();
+
+        final List<String> chunks = exchange.getResponse()
+                .getBody()
+                .map(ReactiveFaultInjectionFilterTest::text)
+                .collectList()
+                .block();
+        assertEquals(List.of("{\"status", "\":\"Handl", "ed\"}"), chunks);
+        assertEquals(BODY.length(), exchange.getResponse().getHeaders().getContentLength());
+    }
+
+    @Test
+    void truncatedResponseFailsHalfwayThroughTheBody() {
+        final var faults = new EndpointFaults();
+        faults.setTruncateRate(1.0);
+        final var filter = new ReactiveFaultInjectionFilter(active(faults), new ObjectMapper());
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        final var failure = assertThrows(RuntimeException.class, () -> filter.filter(exchange, chain)
+                .block());
+        assertInstanceOf(IOException.class, failure.getCause());
+    }
+
+    private static FaultProfiles profiles(EndpointFaults faults) {
+        final var properties = new FaultInjectionProperties();
+        properties.setProfiles(Map.of("test", Map.of("default", faults)));
+        return new FaultProfiles(properties);
+    }
+
+    private static FaultProfiles active(EndpointFaults faults) {
+        final var profiles = profiles(faults);
+        profiles.activate("test");
+        return profiles;
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
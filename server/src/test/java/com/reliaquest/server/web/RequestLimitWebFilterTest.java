@@ -0,0 +1,83 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class RequestLimitWebFilterTest {
+
+    private Counter rejections;
+
+    private final AtomicBoolean chained = new AtomicBoolean();
+
+    private final WebFilterChain chain = exchange -> {
+        chained.set(true);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        rejections = new SimpleMeterRegistry().counter("rejections");
+    }
+
+    @Test
+    void admitsRequestsTheLimiterAdmits() {
+        final var filter = new RequestLimitWebFilter(request -> 0, "test", rejections);
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        filter.filter(exchange, chain).block();
+
+        assertTrue(chained.get());
+        assertNotEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals(0, rejections.count());
+    }
+
+    @Test
+    void rejectsWithRetryAfter() {
+        final var filter = new RequestLimitWebFilter(request -> 3, "test", rejections);
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee/batch"));
+
+        filter.filter(exchange, chain).block();
+
+        assertFalse(chained.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("3", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, rejections.count());
+    }
+
+    @Test
+    void rejectsWithoutRetryAfterWhenLimiterGivesNone() {
+        final var filter = new RequestLimitWebFilter(request -> -1, "test", rejections);
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/employee"));
+
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void leavesOtherPathsUnlimited() {
+        final var filter = new RequestLimitWebFilter(
+                request -> {
+                    throw new AssertionError("Limiter consulted for an unlimited path");
+                },
+                "test",
+                rejections);
+        final var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health"));
+
+        filter.filter(exchange, chain).block();
+
+        assertTrue(chained.get());
+    }
+}
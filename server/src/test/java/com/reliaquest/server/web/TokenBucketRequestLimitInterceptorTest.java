@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.service.TenantRosters;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRequestLimitInterceptorTest {
+
+    private static final Set<String> KNOWN_TENANTS = Set.of(TenantRosters.DEFAULT_TENANT, "acme");
+
+    // Stands in for TenantRosters::resolve over a fixed set of rosters
+    private final TokenBucketRequestLimitInterceptor limiter = new TokenBucketRequestLimitInterceptor(
+            1, 2, 100, header -> {
+                final var tenant = header == null ? TenantRosters.DEFAULT_TENANT : header;
+                return KNOWN_TENANTS.contains(tenant) ? tenant : TenantRosters.UNKNOWN_TENANT;
+            });
+
+    @Test
+    void rejectsOnceTheBurstIsSpent() {
+        final var client = limiter.clientOf("acme", "key", "10.0.0.1");
+
+        assertEquals(0, limiter.tryAcquire(client));
+        assertEquals(0, limiter.tryAcquire(client));
+        assertTrue(limiter.tryAcquire(client) > 0);
+    }
+
+    @Test
+    void admitsTheWholeBurstAtOnce() {
+        final var limiter = new TokenBucketRequestLimitInterceptor(1, 5, 100, UnaryOperator.identity());
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client"));
+        }
+        assertTrue(limiter.tryAcquire("client") > 0);
+        assertEquals(0, limiter.tryAcquire("other"));
+    }
+
+    // 0.4 requests per second leave 2.5 seconds to wait, which a whole-second header must round up
+    @Test
+    void roundsRetryAfterUp() {
+        final var limiter = new TokenBucketRequestLimitInterceptor(0.4, 1, 100, UnaryOperator.identity());
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(3, limiter.tryAcquire("client"));
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        final var limiter = new TokenBucketRequestLimitInterceptor(20, 1, 100, UnaryOperator.identity());
+
+        assertEquals(0, limiter.tryAcquire("client"));
+        assertEquals(1, limiter.tryAcquire("client"));
+        Thread.sleep(100);
+        assertEquals(0, limiter.tryAcquire("client"));
+    }
+
+    // Beyond max-clients, unseen clients share one overflow bucket rather than growing the map
+    @Test
+    void capsTheTrackedClients() {
+        final var limiter = new TokenBucketRequestLimitInterceptor(0.001, 2, 2, UnaryOperator.identity());
+        drain("a", limiter);
+        drain("b", limiter);
+
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(0, limiter.tryAcquire("d"));
+        assertTrue(limiter.tryAcquire("e") > 0);
+        assertEquals(2, limiter.trackedClients());
+    }
+
+    // Idle clients have full buckets, so they are swept to make room for new ones
+    @Test
+    void sweepsIdleClientsToMakeRoom() throws InterruptedException {
+        final var limiter = new TokenBucketRequestLimitInterceptor(100, 1, 2, UnaryOperator.identity());
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("b"));
+        Thread.sleep(50);
+
+        assertEquals(0, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.tryAcquire("c"));
+        assertEquals(1, limiter.trackedClients());
+    }
+
+    @Test
+    void knownTenantsHaveBudgetsOfTheirOwn() {
+        drain(limiter.clientOf(null, "key", "10.0.0.1"));
+
+        assertEquals(0, limiter.tryAcquire(limiter.clientOf("acme", "key", "10.0.0.1")));
+    }
+
+    @Test
+    void unknownTenantsShareOneBudget() {
+        drain(limiter.clientOf("made-up-1", "key", "10.0.0.1"));
+
+        assertTrue(limiter.tryAcquire(limiter.clientOf("made-up-2", "key", "10.0.0.1")) > 0);
+    }
+
+    @Test
+    void keysClientsByApiKeyOrElseAddress() {
+        assertEquals("acme/key", limiter.clientOf("acme", "key", "10.0.0.1"));
+        assertEquals("acme/10.0.0.1", limiter.clientOf("acme", null, "10.0.0.1"));
+        assertEquals("?/10.0.0.1", limiter.clientOf("other", null, "10.0.0.1"));
+    }
+
+    private void drain(String client) {
+        drain(client, limiter);
+    }
+
+    private static void drain(String client, TokenBucketRequestLimitInterceptor limiter) {
+        while (limiter.tryAcquire(client) == 0) {
+            // Spends the client's burst
+        }
+    }
+}